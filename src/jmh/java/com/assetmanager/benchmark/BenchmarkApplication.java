@@ -0,0 +1,28 @@
+package com.assetmanager.benchmark;
+
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assetmanager.AssetManagerApplication;
+
+// Boots the application without the web layer against a private in-memory H2 database
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return new SpringApplicationBuilder(AssetManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        // A fresh database per trial so the fleet size is exactly what the benchmark seeded
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(extraProperties)
+                .run();
+    }
+}
@@ -0,0 +1,160 @@
+package com.assetmanager.benchmark;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.DeviceStatus;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+// Cost on the request thread of logging one transition: the old System.out.println with string concatenation
+// versus the "asset.events" logger with a synchronous appender, the async (lossy) appender, and the level off.
+// Every variant writes to its own temporary file so the comparison is not dominated by terminal speed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class EventLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger : %m %kvp%n";
+
+    private final DeviceChange change = new DeviceChange("BM-LT-00000042", DeviceTransition.RENT,
+            DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, "Dell", null, 7, null, Instant.now());
+
+    private Path directory;
+    private PrintStream printStream;
+    private LoggerContext syncContext;
+    private LoggerContext asyncContext;
+    private LoggerContext offContext;
+    private Logger syncLogger;
+    private Logger asyncLogger;
+    private Logger offLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("event-logging-bench");
+        // Same flushing behaviour as System.out: autoflush on every println
+        printStream = new PrintStream(new FileOutputStream(directory.resolve("system-out.log").toFile()), true,
+                StandardCharsets.UTF_8);
+
+        syncContext = new LoggerContext();
+        syncLogger = logger(syncContext, fileAppender(syncContext, "sync.log"), ch.qos.logback.classic.Level.INFO);
+
+        asyncContext = new LoggerContext();
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(asyncContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.setDiscardingThreshold(0);
+        async.addAppender(fileAppender(asyncContext, "async.log"));
+        async.start();
+        asyncLogger = logger(asyncContext, async, ch.qos.logback.classic.Level.INFO);
+
+        offContext = new LoggerContext();
+        offLogger = logger(offContext, fileAppender(offContext, "off.log"), ch.qos.logback.classic.Level.WARN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        printStream.close();
+        syncContext.stop();
+        asyncContext.stop();
+        offContext.stop();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void systemOutPrintln() {
+        printStream.println("Device rented successfully: " + change.getDeviceId());
+    }
+
+    @Benchmark
+    public void synchronousAppender() {
+        log(syncLogger);
+    }
+
+    @Benchmark
+    public void asyncAppender() {
+        log(asyncLogger);
+    }
+
+    @Benchmark
+    public void levelOff() {
+        log(offLogger);
+    }
+
+    // Same call shape as DeviceChangeLogger
+    private void log(Logger logger) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        logger.atInfo()
+                .addKeyValue("deviceId", change.getDeviceId())
+                .addKeyValue("transition", change.getTransition())
+                .addKeyValue("from", change.getPreviousStatus())
+                .addKeyValue("to", change.getStatus())
+                .addKeyValue("previousOwnerId", change.getPreviousOwnerId())
+                .addKeyValue("ownerId", change.getOwnerId())
+                .addKeyValue("detail", change.getDetail())
+                .log("Device {} {}: {} -> {}",
+                        change.getDeviceId(), change.getTransition(), change.getPreviousStatus(), change.getStatus());
+    }
+
+    private Appender<ILoggingEvent> fileAppender(LoggerContext context, String fileName) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(directory.resolve(fileName).toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private static Logger logger(LoggerContext context, Appender<ILoggingEvent> appender, ch.qos.logback.classic.Level level) {
+        ch.qos.logback.classic.Logger logger = context.getLogger("asset.events");
+        logger.setAdditive(false);
+        logger.setLevel(level);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
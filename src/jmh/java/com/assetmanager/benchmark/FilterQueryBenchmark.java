@@ -0,0 +1,70 @@
+package com.assetmanager.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.service.AssetService;
+
+// Status and brand filter on a growing fleet, answered by the database (index seek on status and brand_key) or,
+// with indexEnabled, by the in-memory DeviceIndexService. The query and second-level caches are disabled so every
+// database invocation runs the query and loads the rows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FilterQueryBenchmark {
+
+    private static final int SEED_CHUNK = 5_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int fleetSize;
+
+    @Param({"false", "true"})
+    public boolean indexEnabled;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+
+    @Setup(Level.Trial)
+    public void seedFleet() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "asset.index.enabled=" + indexEnabled);
+        assetService = context.getBean(AssetService.class);
+
+        FleetGenerator generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "FLT-");
+        for (int seeded = 0; seeded < fleetSize; seeded += SEED_CHUNK) {
+            assetService.registerDevicesBatch(generator.next(Math.min(SEED_CHUNK, fleetSize - seeded)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Device> findByStatusAndBrand() {
+        return assetService.findByStatusAndBrand(DeviceStatus.AVAILABLE, "dell");
+    }
+}
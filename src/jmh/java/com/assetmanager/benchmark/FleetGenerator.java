@@ -0,0 +1,48 @@
+package com.assetmanager.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.Laptop;
+import com.assetmanager.model.MobilePhone;
+
+// Deterministic fleet generator: the same seed always yields the same devices, so runs are comparable between commits
+public class FleetGenerator {
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final String[] LAPTOP_BRANDS = {"Dell", "Lenovo", "HP", "Apple", "Asus"};
+    private static final String[] PHONE_BRANDS = {"Samsung", "Apple", "Motorola", "Xiaomi"};
+    private static final int[] RAM_SIZES = {8, 16, 32, 64};
+
+    private final Random random;
+    private final String idPrefix;
+    private int sequence;
+
+    public FleetGenerator(long seed, String idPrefix) {
+        this.random = new Random(seed);
+        this.idPrefix = idPrefix;
+    }
+
+    public Device next() {
+        String deviceId = idPrefix + String.format("%08d", sequence++);
+        // Roughly two laptops for every phone, as in a typical corporate fleet
+        if (random.nextInt(3) < 2) {
+            String brand = LAPTOP_BRANDS[random.nextInt(LAPTOP_BRANDS.length)];
+            return new Laptop(deviceId, brand, brand + " Model " + random.nextInt(20), "Windows 11",
+                    RAM_SIZES[random.nextInt(RAM_SIZES.length)]);
+        }
+        String brand = PHONE_BRANDS[random.nextInt(PHONE_BRANDS.length)];
+        return new MobilePhone(deviceId, brand, brand + " Model " + random.nextInt(20), "Android",
+                "+1555" + String.format("%07d", random.nextInt(10_000_000)));
+    }
+
+    public List<Device> next(int count) {
+        List<Device> devices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            devices.add(next());
+        }
+        return devices;
+    }
+}
@@ -0,0 +1,156 @@
+package com.assetmanager.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.Laptop;
+import com.assetmanager.model.LookupKey;
+import com.assetmanager.model.User;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.repository.UserRepository;
+import com.assetmanager.service.AssetService;
+
+import jakarta.persistence.EntityManager;
+
+// Selective case-insensitive lookups on a large fleet: an index seek on the *_key columns against the
+// upper(column) = upper(?) form the repository methods used to compile to. The *KeySeek/*UpperScan pairs run the same
+// ID-only SQL, so they differ only in the predicate; the repository pair compares the same two predicates as JPQL
+// returning full entities. The query cache is disabled so every invocation reaches the database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LookupIndexBenchmark {
+
+    private static final int SEED_CHUNK = 5_000;
+    // A brand only a handful of devices have, so the lookup result stays small while the table is large
+    private static final String RARE_BRAND = "Framework";
+    private static final int RARE_DEVICES = 50;
+    private static final int USERS = 100_000;
+
+    @Param({"1000000"})
+    public int fleetSize;
+
+    private ConfigurableApplicationContext context;
+    private DeviceRepository deviceRepository;
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManager entityManager;
+    private int lookupCounter;
+
+    @Setup(Level.Trial)
+    public void seedFleet() {
+        context = BenchmarkApplication.start("spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        deviceRepository = context.getBean(DeviceRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        AssetService assetService = context.getBean(AssetService.class);
+
+        FleetGenerator generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "IDX-");
+        for (int seeded = 0; seeded < fleetSize - RARE_DEVICES; seeded += SEED_CHUNK) {
+            assetService.registerDevicesBatch(generator.next(Math.min(SEED_CHUNK, fleetSize - RARE_DEVICES - seeded)));
+        }
+        List<Device> rare = new ArrayList<>();
+        for (int i = 0; i < RARE_DEVICES; i++) {
+            rare.add(new Laptop("RARE-" + i, RARE_BRAND, "Laptop 13", "Linux", 32));
+        }
+        assetService.registerDevicesBatch(rare);
+
+        List<User> users = new ArrayList<>(SEED_CHUNK);
+        for (int userId = 1; userId <= USERS; userId++) {
+            users.add(new User(userId, "Bench User " + userId, "EMP-" + userId));
+            if (users.size() == SEED_CHUNK) {
+                userRepository.saveAll(users);
+                users.clear();
+            }
+        }
+        userRepository.saveAll(users);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<String> brandLookupKeySeek() {
+        return jdbcTemplate.queryForList(
+                "SELECT device_id FROM device WHERE brand_key = ?", String.class, LookupKey.normalize("framework"));
+    }
+
+    @Benchmark
+    public List<String> brandLookupUpperScan() {
+        return jdbcTemplate.queryForList(
+                "SELECT device_id FROM device WHERE UPPER(brand) = UPPER(?)", String.class, "framework");
+    }
+
+    @Benchmark
+    public List<String> statusAndBrandLookupKeySeek() {
+        return jdbcTemplate.queryForList(
+                "SELECT device_id FROM device WHERE status = ? AND brand_key = ?",
+                String.class, "AVAILABLE", LookupKey.normalize("framework"));
+    }
+
+    @Benchmark
+    public List<String> statusAndBrandLookupUpperScan() {
+        return jdbcTemplate.queryForList(
+                "SELECT device_id FROM device WHERE status = ? AND UPPER(brand) = UPPER(?)",
+                String.class, "AVAILABLE", "framework");
+    }
+
+    @Benchmark
+    public List<Integer> employeeLookupKeySeek() {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM users WHERE employee_id_key = ?", Integer.class, LookupKey.normalize(nextEmployeeId()));
+    }
+
+    @Benchmark
+    public List<Integer> employeeLookupUpperScan() {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM users WHERE UPPER(employee_id) = UPPER(?)", Integer.class, nextEmployeeId());
+    }
+
+    // End to end through the repository, entities included
+    @Benchmark
+    public List<Device> statusAndBrandRepositoryIndexed() {
+        return deviceRepository.findByStatusAndBrandIgnoreCase(DeviceStatus.AVAILABLE, "framework");
+    }
+
+    @Benchmark
+    public List<Device> statusAndBrandRepositoryUpperScan() {
+        return entityManager.createQuery(
+                        "select d from Device d where d.status = :status and upper(d.brand) = upper(:brand)", Device.class)
+                .setParameter("status", DeviceStatus.AVAILABLE)
+                .setParameter("brand", "framework")
+                .getResultList();
+    }
+
+    // Spread the user lookups over the whole table
+    private String nextEmployeeId() {
+        lookupCounter = (lookupCounter + 7_919) % USERS;
+        return "emp-" + (lookupCounter + 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.assetmanager.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.service.AssetService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private FleetGenerator generator;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        assetService = context.getBean(AssetService.class);
+        generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "REG-");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // Device generation is kept out of the measurement; every invocation needs fresh, unused IDs
+    @State(Scope.Thread)
+    public static class SingleDevice {
+        Device device;
+
+        @Setup(Level.Invocation)
+        public void prepare(RegistrationBenchmark benchmark) {
+            device = benchmark.generator.next();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"10", "100", "1000"})
+        public int batchSize;
+
+        List<Device> devices;
+
+        @Setup(Level.Invocation)
+        public void prepare(RegistrationBenchmark benchmark) {
+            devices = benchmark.generator.next(batchSize);
+        }
+    }
+
+    @Benchmark
+    public Device registerNewDevice(SingleDevice single) {
+        return assetService.registerNewDevice(single.device);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void registerDevicesBatch(Batch batch) {
+        assetService.registerDevicesBatch(batch.devices);
+    }
+}
@@ -0,0 +1,55 @@
+package com.assetmanager.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.MobilePhone;
+import com.assetmanager.search.SearchIndex;
+
+// First page of ranked search results over a million devices, from a single exact ID to a one-character prefix
+// that matches a large part of the fleet (the worst case: every match is scored).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    @Param({"1000000"})
+    public int devices;
+
+    @Param({"BM-00424242", "lenovo model 1", "samsung andr", "+1555", "1"})
+    public String query;
+
+    private SearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SearchIndex();
+        FleetGenerator generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "BM-");
+        for (int i = 0; i < devices; i++) {
+            Device device = generator.next();
+            String phoneNumber = device instanceof MobilePhone phone ? phone.getPhoneNumber() : null;
+            index.add(device.getDeviceId(), device.getBrand(), device.getModel(), device.getOperatingSystem(), phoneNumber);
+        }
+    }
+
+    @Benchmark
+    public SearchIndex.Result firstPage() {
+        return index.search(query, 0, 20);
+    }
+}
@@ -0,0 +1,104 @@
+package com.assetmanager.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.assetmanager.dto.SnapshotReport;
+import com.assetmanager.model.Device;
+import com.assetmanager.service.AssetService;
+import com.assetmanager.snapshot.SnapshotService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Loading a fleet into an empty database: snapshot restore against replaying it through AssetService,
+// one device per call (registerNewDevice) and in batches (registerDevicesBatch)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SnapshotRestoreBenchmark {
+
+    private static final int SEED_CHUNK = 5_000;
+
+    @Param({"10000", "100000"})
+    public int fleetSize;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private SnapshotService snapshotService;
+    private JdbcTemplate jdbcTemplate;
+    private SessionFactory sessionFactory;
+    private List<Device> fleet;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        String file = Files.createTempDirectory("snapshot-benchmark").resolve("inventory.snap").toString();
+        context = BenchmarkApplication.start("asset.snapshot.file=" + file);
+        assetService = context.getBean(AssetService.class);
+        snapshotService = context.getBean(SnapshotService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+
+        FleetGenerator generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "SNP-");
+        for (int seeded = 0; seeded < fleetSize; seeded += SEED_CHUNK) {
+            assetService.registerDevicesBatch(generator.next(Math.min(SEED_CHUNK, fleetSize - seeded)));
+        }
+        snapshotService.dump();
+    }
+
+    // Every iteration starts from an empty database; the replayed devices are fresh, unpersisted entities
+    @Setup(Level.Iteration)
+    public void emptyDatabase() {
+        jdbcTemplate.execute("DELETE FROM laptops");
+        jdbcTemplate.execute("DELETE FROM phones");
+        jdbcTemplate.execute("DELETE FROM device");
+        jdbcTemplate.execute("DELETE FROM users");
+        sessionFactory.getCache().evictAllRegions();
+        fleet = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "SNP-").next(fleetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public SnapshotReport restoreSnapshot() {
+        return snapshotService.restore();
+    }
+
+    @Benchmark
+    public void replayRegisterNewDevice() {
+        for (Device device : fleet) {
+            assetService.registerNewDevice(device);
+        }
+    }
+
+    @Benchmark
+    public void replayRegisterDevicesBatch() {
+        for (int i = 0; i < fleet.size(); i += SEED_CHUNK) {
+            assetService.registerDevicesBatch(fleet.subList(i, Math.min(i + SEED_CHUNK, fleet.size())));
+        }
+    }
+}
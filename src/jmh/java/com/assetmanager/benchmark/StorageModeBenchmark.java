@@ -0,0 +1,138 @@
+package com.assetmanager.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.service.AssetService;
+
+// In-memory vs file-backed (persistent profile) H2.
+// restartWithInventory: time until a restarted application serves the full inventory again. The in-memory
+// database has to be re-imported; the file-backed one only opens its store.
+// registerDevicesBatch: write throughput once the application is running.
+@Fork(1)
+public class StorageModeBenchmark {
+
+    private static final String MEMORY = "memory";
+    private static final int SEED_CHUNK = 5_000;
+
+    static ConfigurableApplicationContext start(String storage, Path directory) {
+        if (MEMORY.equals(storage)) {
+            return BenchmarkApplication.start();
+        }
+        return BenchmarkApplication.start(
+                "spring.profiles.active=persistent",
+                "asset.storage.directory=" + directory);
+    }
+
+    static void seed(AssetService assetService, FleetGenerator generator, int fleetSize) {
+        for (int seeded = 0; seeded < fleetSize; seeded += SEED_CHUNK) {
+            assetService.registerDevicesBatch(generator.next(Math.min(SEED_CHUNK, fleetSize - seeded)));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Restart {
+        @Param({"memory", "file"})
+        public String storage;
+
+        @Param({"100000"})
+        public int fleetSize;
+
+        Path directory;
+        ConfigurableApplicationContext context;
+
+        // The file-backed database is populated once; every measured restart then reopens it
+        @Setup(Level.Trial)
+        public void populate() throws IOException {
+            directory = Files.createTempDirectory("storage-benchmark");
+            if (!MEMORY.equals(storage)) {
+                try (ConfigurableApplicationContext seeding = start(storage, directory)) {
+                    seed(seeding.getBean(AssetService.class), new FleetGenerator(FleetGenerator.DEFAULT_SEED, "STO-"), fleetSize);
+                }
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            if (context != null) {
+                context.close();
+                context = null;
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public long restartWithInventory(Restart restart) {
+        restart.context = start(restart.storage, restart.directory);
+        if (MEMORY.equals(restart.storage)) {
+            seed(restart.context.getBean(AssetService.class),
+                    new FleetGenerator(FleetGenerator.DEFAULT_SEED, "STO-"), restart.fleetSize);
+        }
+        return restart.context.getBean(DeviceRepository.class).count();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Running {
+        @Param({"memory", "file"})
+        public String storage;
+
+        ConfigurableApplicationContext context;
+        AssetService assetService;
+        FleetGenerator generator;
+
+        @Setup(Level.Trial)
+        public void startApplication() throws IOException {
+            context = start(storage, Files.createTempDirectory("storage-benchmark"));
+            assetService = context.getBean(AssetService.class);
+            generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "WRT-");
+        }
+
+        @TearDown(Level.Trial)
+        public void stopApplication() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        List<Device> devices;
+
+        @Setup(Level.Invocation)
+        public void prepare(Running running) {
+            devices = running.generator.next(500);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public void registerDevicesBatch(Running running, Batch batch) {
+        running.assetService.registerDevicesBatch(batch.devices);
+    }
+}
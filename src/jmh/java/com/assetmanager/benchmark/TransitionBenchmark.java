@@ -0,0 +1,79 @@
+package com.assetmanager.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.User;
+import com.assetmanager.service.AssetService;
+import com.assetmanager.service.UserService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransitionBenchmark {
+
+    // Background fleet so the transitions do not run against an almost empty table
+    private static final int FLEET_SIZE = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private String cycleDeviceId;
+    private String transferDeviceId;
+    private User firstUser;
+    private User secondUser;
+    private boolean heldByFirstUser;
+
+    @Setup(Level.Trial)
+    public void seedFleet() {
+        context = BenchmarkApplication.start();
+        assetService = context.getBean(AssetService.class);
+        UserService userService = context.getBean(UserService.class);
+
+        FleetGenerator generator = new FleetGenerator(FleetGenerator.DEFAULT_SEED, "TRN-");
+        assetService.registerDevicesBatch(generator.next(FLEET_SIZE));
+
+        firstUser = userService.registerNewUser(new User(1, "bench.one", "BENCH-001"));
+        secondUser = userService.registerNewUser(new User(2, "bench.two", "BENCH-002"));
+
+        cycleDeviceId = assetService.registerNewDevice(generator.next()).getDeviceId();
+        transferDeviceId = assetService.registerNewDevice(generator.next()).getDeviceId();
+        assetService.rentDevice(transferDeviceId, firstUser.getUserId());
+        heldByFirstUser = true;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Device rentAndReturnCycle() {
+        assetService.rentDevice(cycleDeviceId, firstUser.getUserId());
+        return assetService.returnDevice(cycleDeviceId);
+    }
+
+    // Alternates the owner so every invocation is a real transfer
+    @Benchmark
+    public Device transferDevice() {
+        User target = heldByFirstUser ? secondUser : firstUser;
+        heldByFirstUser = !heldByFirstUser;
+        return assetService.transferDevice(transferDeviceId, target.getEmployeeId());
+    }
+}
@@ -0,0 +1,199 @@
+package com.assetmanager.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import com.assetmanager.event.DeviceChange;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Append-only, segmented device history. A device's history is answered from per-segment indexes
+// (device ID -> record offsets): the active segment's is kept in memory as records are committed, the sealed
+// segments' are read from their index files on demand and kept in a cache bounded by the number of entries. So
+// neither queries nor restarts read the whole log, and the heap does not grow with it.
+// Single writer: append/commit/rollback are only called by one thread; history() may be called concurrently.
+public class AuditLog implements Closeable {
+    private static final long DEFAULT_INDEX_CACHE_ENTRIES = 1_000_000;
+
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    // Keyed by segment number, weighed by index entries
+    private final Cache<Integer, Map<String, int[]>> sealedIndexes;
+    private volatile ActiveIndex activeIndex;
+    // Index entries of the current batch in the active segment, published to readers once the batch is committed
+    private final List<Map.Entry<String, Integer>> uncommitted = new ArrayList<>();
+
+    private record ActiveIndex(int segmentNumber, Map<String, Offsets> offsetsByDevice) {
+        ActiveIndex(int segmentNumber) {
+            this(segmentNumber, new ConcurrentHashMap<>());
+        }
+    }
+
+    // A device's record offsets in the active segment. The writer appends in amortized O(1) and publishes the new
+    // size last; readers copy the first size entries, which the array they see always holds.
+    private static final class Offsets {
+        private volatile int[] values = new int[4];
+        private volatile int size;
+
+        void add(int offset) {
+            int[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = offset;
+            values = current;
+            size = size + 1;
+        }
+
+        int[] snapshot() {
+            int count = size;
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    private AuditLog(Path directory, int segmentSizeBytes, long indexCacheEntries) {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.sealedIndexes = Caffeine.newBuilder()
+                .maximumWeight(indexCacheEntries)
+                .weigher((Integer segmentNumber, Map<String, int[]> index) ->
+                        index.values().stream().mapToInt(offsets -> offsets.length).sum())
+                .build();
+    }
+
+    public static AuditLog open(Path directory, int segmentSizeBytes) throws IOException {
+        return open(directory, segmentSizeBytes, DEFAULT_INDEX_CACHE_ENTRIES);
+    }
+
+    public static AuditLog open(Path directory, int segmentSizeBytes, long indexCacheEntries) throws IOException {
+        Files.createDirectories(directory);
+        AuditLog auditLog = new AuditLog(directory, segmentSizeBytes, indexCacheEntries);
+
+        List<Long> baseSequences;
+        try (Stream<Path> files = Files.list(directory)) {
+            baseSequences = files
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("\\d{20}\\.log"))
+                    .map(name -> Long.parseLong(name.substring(0, 20)))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < baseSequences.size(); i++) {
+            boolean active = i == baseSequences.size() - 1;
+            auditLog.segments.add(AuditSegment.open(directory, baseSequences.get(i), segmentSizeBytes, active));
+        }
+        if (auditLog.segments.isEmpty()) {
+            auditLog.segments.add(AuditSegment.open(directory, 0, segmentSizeBytes, true));
+        }
+        ActiveIndex activeIndex = new ActiveIndex(auditLog.segments.size() - 1);
+        for (AuditSegment.IndexEntry entry : auditLog.activeSegment().recoveredEntries()) {
+            activeIndex.offsetsByDevice().computeIfAbsent(entry.deviceId(), key -> new Offsets()).add(entry.offset());
+        }
+        auditLog.activeIndex = activeIndex;
+        return auditLog;
+    }
+
+    public long nextSequence() {
+        return activeSegment().nextSequence();
+    }
+
+    // Writes one record; it becomes durable and visible to history() with the next commit()
+    public AuditRecord append(DeviceChange change) throws IOException {
+        AuditSegment segment = activeSegment();
+        AuditRecord record = AuditRecord.of(segment.nextSequence(), change);
+        byte[] payload = record.encode();
+        if (payload.length + AuditSegment.RECORD_HEADER_BYTES > segmentSizeBytes) {
+            throw new IllegalArgumentException("Audit record for device " + change.getDeviceId()
+                    + " is larger than a segment (" + payload.length + " bytes)");
+        }
+        if (!segment.fits(payload.length)) {
+            segment = roll(segment);
+        }
+        int offset = segment.append(record.getDeviceId(), payload);
+        uncommitted.add(Map.entry(record.getDeviceId(), offset));
+        return record;
+    }
+
+    // Group commit: one force per touched segment for the whole batch, then the new records become queryable
+    public void commit() throws IOException {
+        activeSegment().commit();
+        Map<String, Offsets> offsetsByDevice = activeIndex.offsetsByDevice();
+        for (Map.Entry<String, Integer> entry : uncommitted) {
+            offsetsByDevice.computeIfAbsent(entry.getKey(), key -> new Offsets()).add(entry.getValue());
+        }
+        uncommitted.clear();
+    }
+
+    // Discards the records appended since the last commit, after an append or commit failed. Records of segments
+    // that were rolled over during the batch are already durable and stay.
+    public void rollback() throws IOException {
+        uncommitted.clear();
+        activeSegment().rollback();
+    }
+
+    public List<AuditRecord> history(String deviceId) {
+        ActiveIndex active = activeIndex;
+        List<AuditRecord> records = new ArrayList<>();
+        for (int segmentNumber = 0; segmentNumber < active.segmentNumber(); segmentNumber++) {
+            int[] offsets = sealedIndex(segmentNumber).get(deviceId);
+            if (offsets != null) {
+                read(segmentNumber, offsets, records);
+            }
+        }
+        Offsets offsets = active.offsetsByDevice().get(deviceId);
+        if (offsets != null) {
+            read(active.segmentNumber(), offsets.snapshot(), records);
+        }
+        return records;
+    }
+
+    private Map<String, int[]> sealedIndex(int segmentNumber) {
+        return sealedIndexes.get(segmentNumber, number -> {
+            try {
+                return segments.get(number).readIndex();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read the audit index of segment " + number, ex);
+            }
+        });
+    }
+
+    private void read(int segmentNumber, int[] offsets, List<AuditRecord> records) {
+        AuditSegment segment = segments.get(segmentNumber);
+        for (int offset : offsets) {
+            records.add(AuditRecord.decode(segment.read(offset)));
+        }
+    }
+
+    private AuditSegment roll(AuditSegment full) throws IOException {
+        // The full segment's part of the batch is made durable before appends move on; from then on its records
+        // are found through its index file
+        full.commit();
+        uncommitted.clear();
+        AuditSegment next = AuditSegment.open(directory, full.nextSequence(), segmentSizeBytes, true);
+        segments.add(next);
+        activeIndex = new ActiveIndex(segments.size() - 1);
+        return next;
+    }
+
+    private AuditSegment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (AuditSegment segment : segments) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.assetmanager.audit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.DeviceStatus;
+
+// One immutable entry of a device's lifecycle history, as stored in the audit log
+public class AuditRecord {
+    private final long sequence;
+    private final String deviceId;
+    private final DeviceTransition transition;
+    private final DeviceStatus previousStatus;
+    private final DeviceStatus status;
+    private final Integer previousOwnerId;
+    private final Integer ownerId;
+    private final String detail;
+    private final Instant occurredAt;
+
+    public AuditRecord(long sequence, String deviceId, DeviceTransition transition, DeviceStatus previousStatus,
+                       DeviceStatus status, Integer previousOwnerId, Integer ownerId, String detail, Instant occurredAt) {
+        this.sequence = sequence;
+        this.deviceId = deviceId;
+        this.transition = transition;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.previousOwnerId = previousOwnerId;
+        this.ownerId = ownerId;
+        this.detail = detail;
+        this.occurredAt = occurredAt;
+    }
+
+    public static AuditRecord of(long sequence, DeviceChange change) {
+        return new AuditRecord(sequence, change.getDeviceId(), change.getTransition(), change.getPreviousStatus(),
+                change.getStatus(), change.getPreviousOwnerId(), change.getOwnerId(), change.getDetail(),
+                change.getOccurredAt());
+    }
+
+    public long getSequence() { return sequence; }
+    public String getDeviceId() { return deviceId; }
+    public DeviceTransition getTransition() { return transition; }
+    public DeviceStatus getPreviousStatus() { return previousStatus; }
+    public DeviceStatus getStatus() { return status; }
+    public Integer getPreviousOwnerId() { return previousOwnerId; }
+    public Integer getOwnerId() { return ownerId; }
+    public String getDetail() { return detail; }
+    public Instant getOccurredAt() { return occurredAt; }
+
+    // Binary layout of the payload; enums are stored by name so reordering the constants cannot corrupt old logs
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sequence);
+            writeString(out, deviceId);
+            writeString(out, transition.name());
+            writeString(out, previousStatus == null ? null : previousStatus.name());
+            writeString(out, status == null ? null : status.name());
+            writeInteger(out, previousOwnerId);
+            writeInteger(out, ownerId);
+            writeString(out, detail);
+            out.writeLong(occurredAt.getEpochSecond());
+            out.writeInt(occurredAt.getNano());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    static AuditRecord decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long sequence = in.readLong();
+            String deviceId = readString(in);
+            DeviceTransition transition = DeviceTransition.valueOf(readString(in));
+            String previousStatus = readString(in);
+            String status = readString(in);
+            Integer previousOwnerId = readInteger(in);
+            Integer ownerId = readInteger(in);
+            String detail = readString(in);
+            Instant occurredAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            return new AuditRecord(sequence, deviceId, transition,
+                    previousStatus == null ? null : DeviceStatus.valueOf(previousStatus),
+                    status == null ? null : DeviceStatus.valueOf(status),
+                    previousOwnerId, ownerId, detail, occurredAt);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
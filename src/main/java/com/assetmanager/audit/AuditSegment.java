@@ -0,0 +1,230 @@
+package com.assetmanager.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// One fixed-size, memory-mapped log file plus its index file.
+//   <base>.log: [int payload length][int CRC32 of payload][payload], records back to back, zero-filled after the last one
+//   <base>.idx: [short device ID length][device ID bytes][int record offset] for every record, in log order
+// <base> is the sequence number of the first record. Only the writer thread appends; reads use absolute
+// positions on the shared mapping, so they never race with the writer's state.
+final class AuditSegment implements Closeable {
+    static final int RECORD_HEADER_BYTES = 8;
+
+    private final long baseSequence;
+    private final FileChannel logChannel;
+    private final MappedByteBuffer log;
+    private final FileChannel indexChannel;
+    private final List<IndexEntry> recoveredEntries;
+    private final ByteArrayOutputStream pendingIndex = new ByteArrayOutputStream();
+    private int writePosition;
+    private int unforcedFrom;
+    private long recordCount;
+    // State as of the last successful commit, which rollback() returns to
+    private int committedPosition;
+    private long committedRecordCount;
+    private long committedIndexBytes;
+
+    private AuditSegment(long baseSequence, FileChannel logChannel, MappedByteBuffer log, FileChannel indexChannel,
+                         List<IndexEntry> recoveredEntries, int writePosition, long recordCount, long indexBytes) {
+        this.baseSequence = baseSequence;
+        this.logChannel = logChannel;
+        this.log = log;
+        this.indexChannel = indexChannel;
+        this.recoveredEntries = recoveredEntries;
+        this.writePosition = writePosition;
+        this.unforcedFrom = writePosition;
+        this.recordCount = recordCount;
+        this.committedPosition = writePosition;
+        this.committedRecordCount = recordCount;
+        this.committedIndexBytes = indexBytes;
+    }
+
+    static Path logFile(Path directory, long baseSequence) {
+        return directory.resolve(String.format("%020d.log", baseSequence));
+    }
+
+    static Path indexFile(Path directory, long baseSequence) {
+        return directory.resolve(String.format("%020d.idx", baseSequence));
+    }
+
+    // Opens (or creates) a segment. Index entries that do not point at a complete record (a crash between writing
+    // the log and the index) are dropped, and appends continue after the last valid record. Checksums are only
+    // verified, and index entries only kept, for the active segment, so startup reads the older segments' index
+    // files and never their records.
+    static AuditSegment open(Path directory, long baseSequence, int segmentSizeBytes, boolean active)
+            throws IOException {
+        Path logFile = logFile(directory, baseSequence);
+        Path indexFile = indexFile(directory, baseSequence);
+        long size = Math.max(segmentSizeBytes, Files.exists(logFile) ? Files.size(logFile) : 0);
+
+        FileChannel logChannel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        FileChannel indexChannel = FileChannel.open(indexFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        List<IndexEntry> entries = new ArrayList<>();
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        int validIndexBytes = 0;
+        int writePosition = 0;
+        long recordCount = 0;
+        while (index.remaining() >= Short.BYTES) {
+            int idLength = index.getShort();
+            if (idLength < 0 || index.remaining() < idLength + Integer.BYTES) {
+                break;
+            }
+            byte[] id = new byte[idLength];
+            index.get(id);
+            int offset = index.getInt();
+            if (offset != writePosition || !isValidRecord(log, offset, active)) {
+                break;
+            }
+            if (active) {
+                entries.add(new IndexEntry(new String(id, StandardCharsets.UTF_8), offset));
+            }
+            recordCount++;
+            writePosition = offset + RECORD_HEADER_BYTES + log.getInt(offset);
+            validIndexBytes = index.position();
+        }
+        indexChannel.truncate(validIndexBytes);
+        indexChannel.position(validIndexBytes);
+
+        return new AuditSegment(baseSequence, logChannel, log, indexChannel, entries, writePosition, recordCount,
+                validIndexBytes);
+    }
+
+    private static boolean isValidRecord(MappedByteBuffer log, int offset, boolean verifyChecksum) {
+        if (offset < 0 || offset + RECORD_HEADER_BYTES > log.capacity()) {
+            return false;
+        }
+        int length = log.getInt(offset);
+        if (length <= 0 || offset + RECORD_HEADER_BYTES + length > log.capacity()) {
+            return false;
+        }
+        if (!verifyChecksum) {
+            return true;
+        }
+        byte[] payload = new byte[length];
+        log.get(offset + RECORD_HEADER_BYTES, payload);
+        return checksum(payload) == log.getInt(offset + Integer.BYTES);
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long nextSequence() {
+        return baseSequence + recordCount;
+    }
+
+    List<IndexEntry> recoveredEntries() {
+        return recoveredEntries;
+    }
+
+    boolean fits(int payloadLength) {
+        return writePosition + RECORD_HEADER_BYTES + payloadLength <= log.capacity();
+    }
+
+    // Writes the record into the mapping and queues its index entry; neither is durable before commit()
+    int append(String deviceId, byte[] payload) {
+        int offset = writePosition;
+        log.putInt(offset, payload.length);
+        log.putInt(offset + Integer.BYTES, checksum(payload));
+        log.put(offset + RECORD_HEADER_BYTES, payload);
+        writePosition = offset + RECORD_HEADER_BYTES + payload.length;
+        recordCount++;
+
+        byte[] id = deviceId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(Short.BYTES + id.length + Integer.BYTES);
+        entry.putShort((short) id.length).put(id).putInt(offset);
+        pendingIndex.writeBytes(entry.array());
+        return offset;
+    }
+
+    // Group commit: one force of the log range written since the last commit, then the index entries.
+    // The log is always durable before the index points at it.
+    void commit() throws IOException {
+        if (writePosition > unforcedFrom) {
+            log.force(unforcedFrom, writePosition - unforcedFrom);
+            unforcedFrom = writePosition;
+        }
+        if (pendingIndex.size() > 0) {
+            ByteBuffer entries = ByteBuffer.wrap(pendingIndex.toByteArray());
+            while (entries.hasRemaining()) {
+                indexChannel.write(entries);
+            }
+            indexChannel.force(false);
+            pendingIndex.reset();
+        }
+        committedPosition = writePosition;
+        committedRecordCount = recordCount;
+        committedIndexBytes = indexChannel.position();
+    }
+
+    // Discards everything appended since the last successful commit (e.g. after a failed commit): the records are
+    // zeroed again and the index file is cut back, so appends continue after the last durable record
+    void rollback() throws IOException {
+        if (writePosition > committedPosition) {
+            log.put(committedPosition, new byte[writePosition - committedPosition]);
+        }
+        writePosition = committedPosition;
+        unforcedFrom = committedPosition;
+        recordCount = committedRecordCount;
+        pendingIndex.reset();
+        indexChannel.truncate(committedIndexBytes);
+        indexChannel.position(committedIndexBytes);
+    }
+
+    // Device ID -> record offsets in log order, read from the index file. Only called for sealed segments, whose
+    // index no longer changes; positional reads, so it does not disturb the channel position.
+    Map<String, int[]> readIndex() throws IOException {
+        ByteBuffer index = ByteBuffer.allocate((int) indexChannel.size());
+        while (index.hasRemaining() && indexChannel.read(index, index.position()) >= 0) {
+            // read until the buffer is full
+        }
+        index.flip();
+        Map<String, List<Integer>> offsets = new HashMap<>();
+        while (index.hasRemaining()) {
+            byte[] id = new byte[index.getShort()];
+            index.get(id);
+            offsets.computeIfAbsent(new String(id, StandardCharsets.UTF_8), key -> new ArrayList<>()).add(index.getInt());
+        }
+        Map<String, int[]> result = new HashMap<>(offsets.size() * 2);
+        offsets.forEach((deviceId, list) -> result.put(deviceId, list.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    byte[] read(int offset) {
+        byte[] payload = new byte[log.getInt(offset)];
+        log.get(offset + RECORD_HEADER_BYTES, payload);
+        return payload;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        indexChannel.close();
+        logChannel.close();
+    }
+
+    record IndexEntry(String deviceId, int offset) {}
+}
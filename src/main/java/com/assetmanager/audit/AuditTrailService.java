@@ -0,0 +1,123 @@
+package com.assetmanager.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+
+import jakarta.annotation.PreDestroy;
+
+// Records every committed device transition in the audit log. Request threads only enqueue the changes;
+// a single writer thread appends whatever has queued up and makes the whole batch durable with one commit.
+@Service
+@ConditionalOnProperty(name = "asset.audit.enabled", havingValue = "true")
+public class AuditTrailService {
+    private static final Logger log = LoggerFactory.getLogger(AuditTrailService.class);
+
+    private final AuditLog auditLog;
+    private final BlockingQueue<DeviceChange> queue;
+    private final int maxBatchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditTrailService(@Value("${asset.audit.directory}") String directory,
+                             @Value("${asset.audit.segment-size-bytes:67108864}") int segmentSizeBytes,
+                             @Value("${asset.audit.queue-capacity:65536}") int queueCapacity,
+                             @Value("${asset.audit.max-batch-size:1024}") int maxBatchSize,
+                             @Value("${asset.audit.index-cache-entries:1000000}") long indexCacheEntries) throws IOException {
+        this.auditLog = AuditLog.open(Path.of(directory), segmentSizeBytes, indexCacheEntries);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("Audit log opened in {} (next sequence {})", directory, auditLog.nextSequence());
+    }
+
+    // Audit entries are never dropped: when the writer falls behind, the queue applies back-pressure
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        try {
+            for (DeviceChange change : event.getChanges()) {
+                queue.put(change);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing audit entries; {} changes may be missing", event.getChanges().size());
+        }
+    }
+
+    // Only committed (group-committed) entries are returned, in the order they were recorded
+    public List<AuditRecord> history(String deviceId) {
+        return auditLog.history(deviceId);
+    }
+
+    private void writeLoop() {
+        List<DeviceChange> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                DeviceChange first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Everything that queued up while the previous batch was being forced goes into this one
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<DeviceChange> batch) {
+        try {
+            for (DeviceChange change : batch) {
+                auditLog.append(change);
+            }
+            auditLog.commit();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to write {} audit entries", batch.size(), ex);
+            // Otherwise the failed batch's records would be committed, and listed in history, with the next one
+            try {
+                auditLog.rollback();
+            } catch (IOException | RuntimeException rollbackEx) {
+                log.error("Failed to roll back the audit log after a failed write", rollbackEx);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        // Drain what is already queued before the files are closed
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not drain its queue in time ({} entries left); interrupting it", queue.size());
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // Closing the files under a writer that is still running would fail its commit halfway
+        if (writer.isAlive()) {
+            log.error("Audit writer is still running; leaving the audit log open");
+            return;
+        }
+        auditLog.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.assetmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.support.RetryTemplate;
+
+// The retry advice is ordered before the transaction advice, so every attempt runs in a fresh transaction
+// and re-reads the device (and re-checks its state) instead of replaying a stale entity
+@Configuration
+@EnableRetry
+public class RetryConfig {
+
+    public static final String TRANSITION_RETRY_INTERCEPTOR = "transitionRetryInterceptor";
+
+    @Bean(name = TRANSITION_RETRY_INTERCEPTOR)
+    public RetryOperationsInterceptor transitionRetryInterceptor(
+            @Value("${asset.concurrency.max-attempts:4}") int maxAttempts,
+            @Value("${asset.concurrency.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${asset.concurrency.backoff-multiplier:2.0}") double backoffMultiplier,
+            @Value("${asset.concurrency.max-backoff-ms:200}") long maxBackoffMs) {
+        RetryTemplate retryTemplate = RetryTemplate.builder()
+                .maxAttempts(maxAttempts)
+                .exponentialBackoff(initialBackoffMs, backoffMultiplier, maxBackoffMs, true)
+                // Optimistic-lock failures and lock timeouts; business rule violations are never retried
+                .retryOn(ConcurrencyFailureException.class)
+                .traversingCauses()
+                .build();
+        return RetryInterceptorBuilder.stateless()
+                .retryOperations(retryTemplate)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.assetmanager.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.assetmanager.snapshot.SnapshotService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Startup timings measured from JVM start: when the application reported ready and when the first request was
+// answered. The latter is what a restart actually costs callers (context refresh, snapshot restore, warm-up).
+@Component
+public class StartupTimer extends OncePerRequestFilter implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(StartupTimer.class);
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong readyMillis = new AtomicLong(-1);
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+    private final SnapshotService snapshotService;
+
+    public StartupTimer(SnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        readyMillis.compareAndSet(-1, System.currentTimeMillis() - jvmStartMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        // After the first request only this volatile read remains on the request path
+        if (firstRequestMillis.get() < 0
+                && firstRequestMillis.compareAndSet(-1, System.currentTimeMillis() - jvmStartMillis)) {
+            log.info("First request served {} ms after JVM start (ready after {} ms, snapshot restore {} ms)",
+                    firstRequestMillis.get(), readyMillis.get(), snapshotService.getRestoreMillis());
+        }
+    }
+
+    public long getReadyMillis() {
+        return readyMillis.get();
+    }
+
+    public long getFirstRequestMillis() {
+        return firstRequestMillis.get();
+    }
+
+    // Also published as asset.startup.* time gauges; a phase that has not happened yet reads as NaN
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "asset.startup.ready", "JVM start until the application was ready", t -> t.readyMillis.get());
+        register(registry, "asset.startup.first.request", "JVM start until the first request was served",
+                t -> t.firstRequestMillis.get());
+        register(registry, "asset.startup.snapshot.restore", "Inventory snapshot restore during startup",
+                t -> t.snapshotService.getRestoreMillis());
+    }
+
+    private void register(MeterRegistry registry, String name, String description, ToDoubleFunction<StartupTimer> millis) {
+        TimeGauge.builder(name, this, TimeUnit.MILLISECONDS, t -> {
+                    double value = millis.applyAsDouble(t);
+                    return value < 0 ? Double.NaN : value;
+                })
+                .description(description)
+                .register(registry);
+    }
+
+    // -1 marks a phase that has not happened (yet)
+    public Map<String, Long> getTimings() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        timings.put("jvmStartToReadyMs", readyMillis.get());
+        timings.put("jvmStartToFirstRequestMs", firstRequestMillis.get());
+        timings.put("snapshotRestoreMs", snapshotService.getRestoreMillis());
+        return timings;
+    }
+}
@@ -0,0 +1,38 @@
+package com.assetmanager.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.config.StartupTimer;
+import com.assetmanager.dto.SnapshotReport;
+import com.assetmanager.snapshot.SnapshotService;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final SnapshotService snapshotService;
+    private final StartupTimer startupTimer;
+
+    public AdminController(SnapshotService snapshotService, StartupTimer startupTimer) {
+        this.snapshotService = snapshotService;
+        this.startupTimer = startupTimer;
+    }
+
+    // Writes the inventory snapshot that asset.snapshot.restore-on-startup loads on the next boot
+    @PostMapping("/snapshot")
+    public ResponseEntity<SnapshotReport> snapshot() {
+        return new ResponseEntity<>(snapshotService.dump(), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/startup")
+    public ResponseEntity<Map<String, Long>> startup() {
+        return ResponseEntity.ok(startupTimer.getTimings());
+    }
+}
@@ -1,8 +1,10 @@
 package com.assetmanager.controller;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,12 +14,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.assetmanager.dto.BatchDeviceRequest;
+import com.assetmanager.dto.BulkMode;
+import com.assetmanager.dto.BulkTransitionReport;
+import com.assetmanager.dto.BulkTransitionRequest;
+import com.assetmanager.dto.DevicePage;
+import com.assetmanager.dto.DeviceSearchResult;
+import com.assetmanager.dto.FleetStatistics;
+import com.assetmanager.dto.ImportMode;
+import com.assetmanager.dto.ImportReport;
 import com.assetmanager.model.Device;
 import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.search.DeviceSearchService;
 import com.assetmanager.service.AssetService;
+import com.assetmanager.service.BulkTransitionService;
+import com.assetmanager.service.DeviceImportService;
+import com.assetmanager.service.DevicePageService;
+import com.assetmanager.service.FleetStatisticsService;
+import com.assetmanager.service.InventoryExportService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -25,9 +43,24 @@ import jakarta.validation.Valid;
 public class AssetController {
     
     private final AssetService assetService;
+    private final DeviceImportService deviceImportService;
+    private final DevicePageService devicePageService;
+    private final InventoryExportService exportService;
+    private final BulkTransitionService bulkTransitionService;
+    private final FleetStatisticsService statisticsService;
+    private final DeviceSearchService searchService;
 
-    public AssetController(AssetService assetService) {
+    public AssetController(AssetService assetService, DeviceImportService deviceImportService,
+                           DevicePageService devicePageService, InventoryExportService exportService,
+                           BulkTransitionService bulkTransitionService, FleetStatisticsService statisticsService,
+                           DeviceSearchService searchService) {
         this.assetService = assetService;
+        this.deviceImportService = deviceImportService;
+        this.devicePageService = devicePageService;
+        this.exportService = exportService;
+        this.bulkTransitionService = bulkTransitionService;
+        this.statisticsService = statisticsService;
+        this.searchService = searchService;
     }
 
     @GetMapping
@@ -39,46 +72,74 @@ public class AssetController {
     return ResponseEntity.ok(assetService.findByStatusAndBrand(status, brand));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<DevicePage> getDevicePage(
+    @RequestParam(required = false) DeviceStatus status,
+    @RequestParam(required = false) String brand,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer limit
+    ) {
+    // Pass the previous page's nextCursor to continue; the page size is capped by the server
+    return ResponseEntity.ok(devicePageService.findPage(status, brand, cursor, limit));
+    }
+
+    // Same content as GET /api/assets without a filter, streamed row by row instead of built as a list
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDevices() {
+        StreamingResponseBody body = exportService::writeDevices;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Ranked search by partial brand, model, OS, device ID or phone number, e.g. ?q=thinkpad x1 or ?q=iphone 1
+    @GetMapping("/search")
+    public ResponseEntity<DeviceSearchResult> searchDevices(
+    @RequestParam String q,
+    @RequestParam(required = false) Integer page,
+    @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(searchService.search(q, page, size));
+    }
+
+    // Counts per status, brand, operating system and type in one response, instead of one filtered list per status
+    @GetMapping("/stats")
+    public ResponseEntity<FleetStatistics> getStatistics() {
+        return ResponseEntity.ok(statisticsService.getStatistics());
+    }
+
     @PostMapping
     public ResponseEntity<Device> registerDevice(@Valid @RequestBody Device device) {
-        assetService.registerNewDevice(device);
-        Device createdDevice = assetService.getCreatedDevice(device.getDeviceId());
+        Device createdDevice = assetService.registerNewDevice(device);
         return new ResponseEntity<>(createdDevice, HttpStatus.CREATED);
     }
 
     @PatchMapping("/{id}/decommission")
     public ResponseEntity<Device> decommissionDevice(@PathVariable String id) {
-        assetService.decommissionDevice(id);
-        Device decommissionedDevice = assetService.getCreatedDevice(id);
+        Device decommissionedDevice = assetService.decommissionDevice(id);
         return new ResponseEntity<>(decommissionedDevice, HttpStatus.OK);
     }
 
     @PostMapping("/{id}/rent/{userId}")
     public ResponseEntity<Device> rentDevice(@PathVariable String id, @PathVariable int userId) {
-        assetService.rentDevice(id, userId);
-        Device rentedDevice = assetService.getCreatedDevice(id);
+        Device rentedDevice = assetService.rentDevice(id, userId);
         return new ResponseEntity<>(rentedDevice, HttpStatus.OK);
     }
 
     @PostMapping("/{id}/return")
     public ResponseEntity<Device> returnDevice(@PathVariable String id) {
-        assetService.returnDevice(id);
-        Device returnedDevice = assetService.getCreatedDevice(id);
+        Device returnedDevice = assetService.returnDevice(id);
         return new ResponseEntity<>(returnedDevice, HttpStatus.OK);
     }
 
     @PostMapping("/{id}/maintenance")
     public ResponseEntity<Device> moveDeviceToMaintenance(@PathVariable String id, @RequestBody Map<String, String> body) {
         String reason = body.get("reason");
-        assetService.moveDeviceToMaintenance(id, reason);
-        Device maintenanceDevice = assetService.getCreatedDevice(id);
+        Device maintenanceDevice = assetService.moveDeviceToMaintenance(id, reason);
         return new ResponseEntity<>(maintenanceDevice, HttpStatus.OK);
     }
     
     @PatchMapping("/{id}/maintenance/complete")
     public ResponseEntity<Device> completeMaintenance(@PathVariable String id) {
-        assetService.completeDeviceRepair(id);
-        Device completedDevice = assetService.getCreatedDevice(id);
+        Device completedDevice = assetService.completeDeviceRepair(id);
         return new ResponseEntity<>(completedDevice, HttpStatus.OK);
     }
 
@@ -93,8 +154,7 @@ public class AssetController {
 
     @PatchMapping("/{deviceId}/transfer/{targetEmployeeId}")
     public ResponseEntity<Device> transferDevice(@PathVariable String deviceId, @PathVariable String targetEmployeeId) {
-        assetService.transferDevice(deviceId, targetEmployeeId);
-        Device transferredDevice = assetService.getCreatedDevice(deviceId);
+        Device transferredDevice = assetService.transferDevice(deviceId, targetEmployeeId);
         return new ResponseEntity<>(transferredDevice, HttpStatus.OK);
     }
 
@@ -106,4 +166,26 @@ public class AssetController {
         response.put("devicesRegistered", request.getDevices().size());
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
-}
\ No newline at end of file
+
+    // Streaming alternative to /batch: one JSON device per line, read and stored chunk by chunk
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importDevices(
+    @RequestParam(defaultValue = "ATOMIC") ImportMode mode,
+    HttpServletRequest request
+    ) throws IOException {
+        ImportReport report = deviceImportService.importDevices(request.getInputStream(), mode);
+        HttpStatus status = report.isCommitted() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return new ResponseEntity<>(report, status);
+    }
+
+    // One operation for many devices (e.g. decommission a whole refresh cycle), with a per-device outcome report
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTransitionReport> applyBulkTransition(
+    @RequestParam(defaultValue = "ATOMIC") BulkMode mode,
+    @Valid @RequestBody BulkTransitionRequest request
+    ) {
+        BulkTransitionReport report = bulkTransitionService.applyTransition(request, mode);
+        HttpStatus status = report.isCommitted() ? HttpStatus.OK : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(report, status);
+    }
+}
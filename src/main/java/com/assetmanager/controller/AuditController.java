@@ -0,0 +1,30 @@
+package com.assetmanager.controller;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.audit.AuditRecord;
+import com.assetmanager.audit.AuditTrailService;
+
+@RestController
+@RequestMapping("/api/assets")
+@ConditionalOnProperty(name = "asset.audit.enabled", havingValue = "true")
+public class AuditController {
+
+    private final AuditTrailService auditTrailService;
+
+    public AuditController(AuditTrailService auditTrailService) {
+        this.auditTrailService = auditTrailService;
+    }
+
+    // Lifecycle history of one device, oldest first (also kept for devices that no longer exist)
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<AuditRecord>> getDeviceHistory(@PathVariable String id) {
+        return ResponseEntity.ok(auditTrailService.history(id));
+    }
+}
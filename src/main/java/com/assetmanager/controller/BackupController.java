@@ -0,0 +1,26 @@
+package com.assetmanager.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.dto.BackupReport;
+import com.assetmanager.service.DatabaseBackupService;
+
+@RestController
+@RequestMapping("/api/admin")
+public class BackupController {
+
+    private final DatabaseBackupService backupService;
+
+    public BackupController(DatabaseBackupService backupService) {
+        this.backupService = backupService;
+    }
+
+    @PostMapping("/backup")
+    public ResponseEntity<BackupReport> backup() {
+        return new ResponseEntity<>(backupService.backup(), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,59 @@
+package com.assetmanager.controller;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatisticsController {
+
+    // Region names configured on the entities and in application.conf
+    private static final String[] ENTITY_REGIONS = { "device", "user" };
+    private static final String QUERY_REGION = "default-query-results-region";
+
+    private final Statistics statistics;
+
+    public CacheStatisticsController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : ENTITY_REGIONS) {
+            regions.put(region, toMap(statistics.getDomainDataRegionStatistics(region)));
+        }
+        regions.put(QUERY_REGION, toMap(statistics.getQueryRegionStatistics(QUERY_REGION)));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        response.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        response.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        response.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        response.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        response.put("queryCachePuts", statistics.getQueryCachePutCount());
+        response.put("regions", regions);
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> toMap(CacheRegionStatistics region) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (region == null) {
+            return values; // Region not created yet (nothing cached so far)
+        }
+        values.put("hitCount", region.getHitCount());
+        values.put("missCount", region.getMissCount());
+        values.put("putCount", region.getPutCount());
+        values.put("elementCountInMemory", region.getElementCountInMemory());
+        return values;
+    }
+}
@@ -0,0 +1,34 @@
+package com.assetmanager.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.assetmanager.feed.ChangeFeed;
+import com.assetmanager.model.DeviceStatus;
+
+@RestController
+@RequestMapping("/api/assets")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    public ChangeFeedController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    // Committed transitions as Server-Sent Events, e.g. ?status=UNDER_REPAIR for devices entering or leaving repair.
+    // EventSource clients resume through Last-Event-ID; other clients can pass the last event ID as ?after=
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+    @RequestParam(required = false) String after,
+    @RequestParam(required = false) DeviceStatus status
+    ) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : after, status);
+    }
+}
@@ -0,0 +1,49 @@
+package com.assetmanager.controller;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.dto.BatchDeviceRequest;
+import com.assetmanager.dto.BulkTransitionRequest;
+import com.assetmanager.dto.JobStatus;
+import com.assetmanager.job.JobService;
+
+import jakarta.validation.Valid;
+
+// Asynchronous counterparts of POST /api/assets/batch and /bulk: 202 with the job status, then poll its Location
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<JobStatus> submitImport(@Valid @RequestBody BatchDeviceRequest request) {
+        return accepted(jobService.submitImport(request.getDevices()));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<JobStatus> submitBulkTransition(@Valid @RequestBody BulkTransitionRequest request) {
+        return accepted(jobService.submitBulkTransition(request));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobStatus> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.getStatus(jobId));
+    }
+
+    private static ResponseEntity<JobStatus> accepted(JobStatus status) {
+        return ResponseEntity.accepted().location(URI.create("/api/jobs/" + status.getJobId())).body(status);
+    }
+}
@@ -0,0 +1,30 @@
+package com.assetmanager.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.dto.SyncPage;
+import com.assetmanager.sync.SyncService;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // Devices and users changed since the token (all of them without one); repeat with nextToken while hasMore
+    @GetMapping("/changes")
+    public ResponseEntity<SyncPage> getChanges(
+    @RequestParam(required = false) String since,
+    @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(syncService.changesSince(since, limit));
+    }
+}
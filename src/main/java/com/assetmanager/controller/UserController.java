@@ -1,14 +1,22 @@
 package com.assetmanager.controller;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.assetmanager.model.Device;
 import com.assetmanager.model.User;
+import com.assetmanager.service.FleetCounters;
+import com.assetmanager.service.InventoryExportService;
 import com.assetmanager.service.UserService;
 
 import jakarta.validation.Valid;
@@ -19,9 +27,13 @@ import jakarta.validation.Valid;
 public class UserController {
 
     private final UserService userService;
+    private final InventoryExportService exportService;
+    private final FleetCounters fleetCounters;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, InventoryExportService exportService, FleetCounters fleetCounters) {
         this.userService = userService;
+        this.exportService = exportService;
+        this.fleetCounters = fleetCounters;
     }
 
     @GetMapping
@@ -29,10 +41,27 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    // Same content as GET /api/users, streamed row by row instead of built as a list
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = exportService::writeUsers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/{userId}/devices")
+    public ResponseEntity<List<Device>> getUserDevices(@PathVariable int userId) {
+        return ResponseEntity.ok(userService.getUserDevices(userId));
+    }
+
+    // Answered from the in-memory fleet counters; unknown users simply have no devices
+    @GetMapping("/{userId}/devices/count")
+    public ResponseEntity<Map<String, Long>> countUserDevices(@PathVariable int userId) {
+        return ResponseEntity.ok(Map.of("userId", (long) userId, "devices", fleetCounters.countByOwner(userId)));
+    }
+
     @PostMapping
     public ResponseEntity<User> registerUser(@Valid @RequestBody User user) {
-        userService.registerNewUser(user);
-        User createdUser = userService.getCreatedUser(user.getUserId());
+        User createdUser = userService.registerNewUser(user);
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.assetmanager.dto;
+
+public class BackupReport {
+    private final String file;
+    private final String method;
+    private final long sizeBytes;
+    private final long durationMs;
+
+    public BackupReport(String file, String method, long sizeBytes, long durationMs) {
+        this.file = file;
+        this.method = method;
+        this.sizeBytes = sizeBytes;
+        this.durationMs = durationMs;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
@@ -0,0 +1,6 @@
+package com.assetmanager.dto;
+
+public enum BulkMode {
+    ATOMIC,  // All-or-nothing: any device that cannot transition rolls back the whole request
+    PARTIAL  // Devices that can transition are committed, the others are reported and left unchanged
+}
@@ -0,0 +1,9 @@
+package com.assetmanager.dto;
+
+public enum BulkOperation {
+    RENT,         // Requires userId: every device is rented to the same user
+    RETURN,
+    MAINTENANCE,  // Uses the optional reason for every device
+    REPAIR,       // Completes the maintenance of every device
+    DECOMMISSION
+}
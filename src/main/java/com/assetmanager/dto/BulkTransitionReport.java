@@ -0,0 +1,83 @@
+package com.assetmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.assetmanager.model.DeviceStatus;
+
+public class BulkTransitionReport {
+    private final BulkOperation operation;
+    private final BulkMode mode;
+    private final List<DeviceOutcome> results = new ArrayList<>();
+    private int succeeded;
+    private int failed;
+    private boolean committed;
+
+    public BulkTransitionReport(BulkOperation operation, BulkMode mode) {
+        this.operation = operation;
+        this.mode = mode;
+    }
+
+    public void applied(String deviceId, DeviceStatus status) {
+        succeeded++;
+        results.add(new DeviceOutcome(deviceId, Outcome.APPLIED, status, null));
+    }
+
+    public void failed(String deviceId, DeviceStatus status, String message) {
+        failed++;
+        results.add(new DeviceOutcome(deviceId, Outcome.FAILED, status, message));
+    }
+
+    public boolean hasFailures() {
+        return failed > 0;
+    }
+
+    public void markCommitted(boolean committed) {
+        this.committed = committed;
+        if (!committed) {
+            // Nothing was written: the devices that passed keep their previous state as well
+            for (DeviceOutcome result : results) {
+                if (result.outcome == Outcome.APPLIED) {
+                    result.outcome = Outcome.ROLLED_BACK;
+                    result.status = null;
+                    result.message = "Not applied: another device in the request failed";
+                }
+            }
+            succeeded = 0;
+        }
+    }
+
+    // Getters only (Jackson needs them to create the JSON)
+    public BulkOperation getOperation() { return operation; }
+    public BulkMode getMode() { return mode; }
+    public int getRequested() { return results.size(); }
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+    public boolean isCommitted() { return committed; }
+    public List<DeviceOutcome> getResults() { return results; }
+
+    public enum Outcome {
+        APPLIED,
+        FAILED,
+        ROLLED_BACK
+    }
+
+    public static class DeviceOutcome {
+        private final String deviceId;
+        private Outcome outcome;
+        private DeviceStatus status;
+        private String message;
+
+        public DeviceOutcome(String deviceId, Outcome outcome, DeviceStatus status, String message) {
+            this.deviceId = deviceId;
+            this.outcome = outcome;
+            this.status = status;
+            this.message = message;
+        }
+
+        public String getDeviceId() { return deviceId; }
+        public Outcome getOutcome() { return outcome; }
+        public DeviceStatus getStatus() { return status; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,58 @@
+package com.assetmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public class BulkTransitionRequest {
+
+    @NotNull(message = "Operation is mandatory")
+    private BulkOperation operation;
+
+    @NotEmpty(message = "Device ID list cannot be empty")
+    private List<String> deviceIds;
+
+    private Integer userId;
+    private String reason;
+
+    public BulkTransitionRequest() {}
+
+    public BulkTransitionRequest(BulkOperation operation, List<String> deviceIds, Integer userId, String reason) {
+        this.operation = operation;
+        this.deviceIds = deviceIds;
+        this.userId = userId;
+        this.reason = reason;
+    }
+
+    public BulkOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(BulkOperation operation) {
+        this.operation = operation;
+    }
+
+    public List<String> getDeviceIds() {
+        return deviceIds;
+    }
+
+    public void setDeviceIds(List<String> deviceIds) {
+        this.deviceIds = deviceIds;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
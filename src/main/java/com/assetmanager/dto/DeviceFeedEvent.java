@@ -0,0 +1,45 @@
+package com.assetmanager.dto;
+
+import java.time.Instant;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.DeviceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One committed transition as pushed by GET /api/assets/changes; absent values are left out to keep events small
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceFeedEvent {
+    private final long offset;
+    private final String deviceId;
+    private final DeviceTransition transition;
+    private final DeviceStatus from;
+    private final DeviceStatus to;
+    private final Integer previousOwnerId;
+    private final Integer ownerId;
+    private final Instant at;
+
+    public DeviceFeedEvent(long offset, DeviceChange change) {
+        this.offset = offset;
+        this.deviceId = change.getDeviceId();
+        this.transition = change.getTransition();
+        this.from = change.getPreviousStatus();
+        this.to = change.getStatus();
+        this.previousOwnerId = change.getPreviousOwnerId();
+        this.ownerId = change.getOwnerId();
+        this.at = change.getOccurredAt();
+    }
+
+    public long getOffset() { return offset; } // position in the feed, increasing by one per transition
+    public String getDeviceId() { return deviceId; }
+    public DeviceTransition getTransition() { return transition; }
+    public DeviceStatus getFrom() { return from; } // null for REGISTER
+    public DeviceStatus getTo() { return to; }
+    public Integer getPreviousOwnerId() { return previousOwnerId; }
+    public Integer getOwnerId() { return ownerId; }
+    public Instant getAt() { return at; }
+
+    public boolean involves(DeviceStatus status) {
+        return status == from || status == to;
+    }
+}
@@ -0,0 +1,21 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+import com.assetmanager.model.Device;
+
+public class DevicePage {
+    private final List<Device> devices;
+    private final String nextCursor;
+
+    public DevicePage(List<Device> devices, String nextCursor) {
+        this.devices = devices;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters only (Jackson needs them to create the JSON)
+    public List<Device> getDevices() { return devices; }
+    public int getSize() { return devices.size(); }
+    public String getNextCursor() { return nextCursor; } // null on the last page
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,16 @@
+package com.assetmanager.dto;
+
+import com.assetmanager.model.Device;
+
+public class DeviceSearchHit {
+    private final Device device;
+    private final double score;
+
+    public DeviceSearchHit(Device device, double score) {
+        this.device = device;
+        this.score = score;
+    }
+
+    public Device getDevice() { return device; }
+    public double getScore() { return score; } // higher is a better match; only comparable within one query
+}
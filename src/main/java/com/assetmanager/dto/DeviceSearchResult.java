@@ -0,0 +1,26 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+public class DeviceSearchResult {
+    private final String query;
+    private final long total;
+    private final int page;
+    private final int size;
+    private final List<DeviceSearchHit> hits;
+
+    public DeviceSearchResult(String query, long total, int page, int size, List<DeviceSearchHit> hits) {
+        this.query = query;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+
+    public String getQuery() { return query; }
+    public long getTotal() { return total; } // all matching devices, not only this page
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public List<DeviceSearchHit> getHits() { return hits; } // best match first
+    public boolean isHasMore() { return (long) (page + 1) * size < total; }
+}
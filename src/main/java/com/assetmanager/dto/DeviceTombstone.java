@@ -0,0 +1,22 @@
+package com.assetmanager.dto;
+
+import java.time.LocalDate;
+
+import com.assetmanager.model.Device;
+
+// A decommissioned device in a sync page: the mirror should drop (or archive) it; it never changes again
+public class DeviceTombstone {
+    private final String deviceId;
+    private final long changeSeq;
+    private final LocalDate decommissionDate;
+
+    public DeviceTombstone(Device device) {
+        this.deviceId = device.getDeviceId();
+        this.changeSeq = device.getChangeSeq();
+        this.decommissionDate = device.getDecommissionDate();
+    }
+
+    public String getDeviceId() { return deviceId; }
+    public long getChangeSeq() { return changeSeq; }
+    public LocalDate getDecommissionDate() { return decommissionDate; }
+}
@@ -0,0 +1,29 @@
+package com.assetmanager.dto;
+
+import java.util.Map;
+
+public class FleetStatistics {
+    private final long totalDevices;
+    private final Map<String, Long> byStatus;
+    private final Map<String, Long> byBrand;
+    private final Map<String, Long> byOperatingSystem;
+    private final Map<String, Long> byType;
+    private final Double averageLaptopRamGb;
+
+    public FleetStatistics(long totalDevices, Map<String, Long> byStatus, Map<String, Long> byBrand,
+                           Map<String, Long> byOperatingSystem, Map<String, Long> byType, Double averageLaptopRamGb) {
+        this.totalDevices = totalDevices;
+        this.byStatus = byStatus;
+        this.byBrand = byBrand;
+        this.byOperatingSystem = byOperatingSystem;
+        this.byType = byType;
+        this.averageLaptopRamGb = averageLaptopRamGb;
+    }
+
+    public long getTotalDevices() { return totalDevices; }
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public Map<String, Long> getByBrand() { return byBrand; }
+    public Map<String, Long> getByOperatingSystem() { return byOperatingSystem; }
+    public Map<String, Long> getByType() { return byType; }
+    public Double getAverageLaptopRamGb() { return averageLaptopRamGb; }
+}
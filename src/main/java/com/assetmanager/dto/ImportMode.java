@@ -0,0 +1,6 @@
+package com.assetmanager.dto;
+
+public enum ImportMode {
+    ATOMIC,      // All-or-nothing: any invalid line rolls back the whole import
+    BEST_EFFORT  // Valid lines are committed chunk by chunk, invalid lines are reported and skipped
+}
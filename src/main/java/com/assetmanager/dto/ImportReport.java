@@ -0,0 +1,71 @@
+package com.assetmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private final ImportMode mode;
+    private final int maxReportedErrors;
+    private final List<LineError> errors = new ArrayList<>();
+    private long linesRead;
+    private long devicesImported;
+    private long devicesRejected;
+    private boolean committed;
+
+    public ImportReport(ImportMode mode, int maxReportedErrors) {
+        this.mode = mode;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void lineRead() {
+        linesRead++;
+    }
+
+    public void imported(int count) {
+        devicesImported += count;
+    }
+
+    public void reject(long line, String deviceId, String message) {
+        devicesRejected++;
+        // Only the first errors are kept so a bad file cannot make the report itself unbounded
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new LineError(line, deviceId, message));
+        }
+    }
+
+    public void markCommitted(boolean committed) {
+        this.committed = committed;
+        if (!committed) {
+            devicesImported = 0;
+        }
+    }
+
+    public boolean hasErrors() {
+        return devicesRejected > 0;
+    }
+
+    // Getters only (Jackson needs them to create the JSON)
+    public ImportMode getMode() { return mode; }
+    public long getLinesRead() { return linesRead; }
+    public long getDevicesImported() { return devicesImported; }
+    public long getDevicesRejected() { return devicesRejected; }
+    public boolean isCommitted() { return committed; }
+    public boolean isErrorsTruncated() { return devicesRejected > errors.size(); }
+    public List<LineError> getErrors() { return errors; }
+
+    public static class LineError {
+        private final long line;
+        private final String deviceId;
+        private final String message;
+
+        public LineError(long line, String deviceId, String message) {
+            this.line = line;
+            this.deviceId = deviceId;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getDeviceId() { return deviceId; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,70 @@
+package com.assetmanager.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.assetmanager.job.JobState;
+import com.assetmanager.job.JobType;
+
+public class JobStatus {
+    private final String jobId;
+    private final JobType type;
+    private final JobState state;
+    private final int totalItems;
+    private final int processedItems;
+    private final int succeededItems;
+    private final int failedItems;
+    private final double itemsPerSecond;
+    private final Instant submittedAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String error;
+    private final List<ItemFailure> failures;
+
+    public JobStatus(String jobId, JobType type, JobState state, int totalItems, int processedItems, int succeededItems,
+                     int failedItems, double itemsPerSecond, Instant submittedAt, Instant startedAt, Instant finishedAt,
+                     String error, List<ItemFailure> failures) {
+        this.jobId = jobId;
+        this.type = type;
+        this.state = state;
+        this.totalItems = totalItems;
+        this.processedItems = processedItems;
+        this.succeededItems = succeededItems;
+        this.failedItems = failedItems;
+        this.itemsPerSecond = itemsPerSecond;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+        this.failures = failures;
+    }
+
+    // Getters only (Jackson needs them to create the JSON)
+    public String getJobId() { return jobId; }
+    public JobType getType() { return type; }
+    public JobState getState() { return state; }
+    public int getTotalItems() { return totalItems; }
+    public int getProcessedItems() { return processedItems; }
+    public int getSucceededItems() { return succeededItems; }
+    public int getFailedItems() { return failedItems; }
+    public double getProgress() { return totalItems == 0 ? 1.0 : (double) processedItems / totalItems; }
+    public double getItemsPerSecond() { return itemsPerSecond; } // since the job started
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getError() { return error; } // set when the job FAILED or was CANCELLED
+    public List<ItemFailure> getFailures() { return failures; } // capped; failedItems has the full count
+
+    public static class ItemFailure {
+        private final String deviceId;
+        private final String message;
+
+        public ItemFailure(String deviceId, String message) {
+            this.deviceId = deviceId;
+            this.message = message;
+        }
+
+        public String getDeviceId() { return deviceId; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.assetmanager.dto;
+
+public class SnapshotReport {
+    private final String file;
+    private final int users;
+    private final int devices;
+    private final long sizeBytes;
+    private final long durationMs;
+
+    public SnapshotReport(String file, int users, int devices, long sizeBytes, long durationMs) {
+        this.file = file;
+        this.users = users;
+        this.devices = devices;
+        this.sizeBytes = sizeBytes;
+        this.durationMs = durationMs;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getDevices() {
+        return devices;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
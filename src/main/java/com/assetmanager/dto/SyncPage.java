@@ -0,0 +1,31 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.User;
+
+public class SyncPage {
+    private final List<Device> devices;
+    private final List<User> users;
+    private final List<DeviceTombstone> tombstones;
+    private final String nextToken;
+    private final boolean hasMore;
+
+    public SyncPage(List<Device> devices, List<User> users, List<DeviceTombstone> tombstones, String nextToken,
+                    boolean hasMore) {
+        this.devices = devices;
+        this.users = users;
+        this.tombstones = tombstones;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    // Each list is in change sequence order; together they cover every change up to nextToken
+    public List<Device> getDevices() { return devices; } // added or changed, current state
+    public List<User> getUsers() { return users; }
+    public List<DeviceTombstone> getTombstones() { return tombstones; }
+    public int getSize() { return devices.size() + users.size() + tombstones.size(); }
+    public String getNextToken() { return nextToken; } // always set: pass it as ?since= for the next sync
+    public boolean isHasMore() { return hasMore; } // true if more changes are ready right away
+}
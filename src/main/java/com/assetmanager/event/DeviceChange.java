@@ -0,0 +1,81 @@
+package com.assetmanager.event;
+
+import java.time.Instant;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.Laptop;
+
+// Immutable record of one device state transition, captured when AssetService applies it
+public class DeviceChange {
+    private final String deviceId;
+    private final DeviceTransition transition;
+    private final DeviceStatus previousStatus;
+    private final DeviceStatus status;
+    private final String brand;
+    private final Integer previousOwnerId;
+    private final Integer ownerId;
+    private final String detail;
+    private final Instant occurredAt;
+    private final Profile profile;
+
+    // Attributes that are fixed at registration, carried by REGISTER changes only (for the fleet statistics)
+    public record Profile(String type, String operatingSystem, Integer ramSizeGb) {
+        public static final String LAPTOP = "laptop";
+        public static final String PHONE = "phone";
+
+        static Profile of(Device device) {
+            if (device instanceof Laptop laptop) {
+                return new Profile(LAPTOP, device.getOperatingSystem(), laptop.getRamSizeGb());
+            }
+            return new Profile(PHONE, device.getOperatingSystem(), null);
+        }
+    }
+
+    public DeviceChange(String deviceId, DeviceTransition transition, DeviceStatus previousStatus, DeviceStatus status,
+                        String brand, Integer previousOwnerId, Integer ownerId, String detail, Instant occurredAt) {
+        this(deviceId, transition, previousStatus, status, brand, previousOwnerId, ownerId, detail, occurredAt, null);
+    }
+
+    public DeviceChange(String deviceId, DeviceTransition transition, DeviceStatus previousStatus, DeviceStatus status,
+                        String brand, Integer previousOwnerId, Integer ownerId, String detail, Instant occurredAt,
+                        Profile profile) {
+        this.deviceId = deviceId;
+        this.transition = transition;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.brand = brand;
+        this.previousOwnerId = previousOwnerId;
+        this.ownerId = ownerId;
+        this.detail = detail;
+        this.occurredAt = occurredAt;
+        this.profile = profile;
+    }
+
+    // previousStatus/previousOwnerId must be read from the device before the transition was applied
+    public static DeviceChange of(DeviceTransition transition, Device device, DeviceStatus previousStatus,
+                                  Integer previousOwnerId, String detail) {
+        return new DeviceChange(device.getDeviceId(), transition, previousStatus, device.getStatus(),
+                device.getBrand(), previousOwnerId, ownerIdOf(device), detail, Instant.now());
+    }
+
+    public static DeviceChange registered(Device device) {
+        return new DeviceChange(device.getDeviceId(), DeviceTransition.REGISTER, null, device.getStatus(),
+                device.getBrand(), null, ownerIdOf(device), null, Instant.now(), Profile.of(device));
+    }
+
+    public static Integer ownerIdOf(Device device) {
+        return device.getOwner() == null ? null : device.getOwner().getUserId();
+    }
+
+    public String getDeviceId() { return deviceId; }
+    public DeviceTransition getTransition() { return transition; }
+    public DeviceStatus getPreviousStatus() { return previousStatus; } // null for REGISTER
+    public DeviceStatus getStatus() { return status; }
+    public String getBrand() { return brand; }
+    public Integer getPreviousOwnerId() { return previousOwnerId; }
+    public Integer getOwnerId() { return ownerId; }
+    public String getDetail() { return detail; } // e.g. the maintenance reason
+    public Instant getOccurredAt() { return occurredAt; }
+    public Profile getProfile() { return profile; } // null except for REGISTER
+}
@@ -0,0 +1,27 @@
+package com.assetmanager.event;
+
+import java.util.List;
+
+import com.assetmanager.model.Device;
+
+// Published by the services for every applied transition; a batch registration publishes one event for the whole batch.
+// Listeners should use @TransactionalEventListener so they only see committed changes.
+public class DeviceChangeEvent {
+    private final List<DeviceChange> changes;
+
+    public DeviceChangeEvent(List<DeviceChange> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    public static DeviceChangeEvent of(DeviceChange change) {
+        return new DeviceChangeEvent(List.of(change));
+    }
+
+    public static DeviceChangeEvent registered(List<? extends Device> devices) {
+        return new DeviceChangeEvent(devices.stream().map(DeviceChange::registered).toList());
+    }
+
+    public List<DeviceChange> getChanges() {
+        return changes;
+    }
+}
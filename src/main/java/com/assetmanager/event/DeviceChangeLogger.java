@@ -0,0 +1,53 @@
+package com.assetmanager.event;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Asset lifecycle log: one structured line per committed transition on the "asset.events" logger.
+// logback-spring.xml routes that logger through an AsyncAppender, so the request thread only enqueues the event.
+@Component
+public class DeviceChangeLogger {
+    public static final String LOGGER_NAME = "asset.events";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    // Large batches are summarized at INFO; the individual registrations are only logged at DEBUG
+    private static final int MAX_DETAILED_CHANGES = 100;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        // Checked once per event so a disabled logger costs no allocation at all
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        List<DeviceChange> changes = event.getChanges();
+        if (changes.size() > MAX_DETAILED_CHANGES) {
+            log.atInfo()
+                    .addKeyValue("transition", changes.get(0).getTransition())
+                    .addKeyValue("devices", changes.size())
+                    .log("Device batch {}: {} devices", changes.get(0).getTransition(), changes.size());
+            if (log.isDebugEnabled()) {
+                changes.forEach(change -> logChange(change, true));
+            }
+            return;
+        }
+        changes.forEach(change -> logChange(change, false));
+    }
+
+    private void logChange(DeviceChange change, boolean debug) {
+        (debug ? log.atDebug() : log.atInfo())
+                .addKeyValue("deviceId", change.getDeviceId())
+                .addKeyValue("transition", change.getTransition())
+                .addKeyValue("from", change.getPreviousStatus())
+                .addKeyValue("to", change.getStatus())
+                .addKeyValue("previousOwnerId", change.getPreviousOwnerId())
+                .addKeyValue("ownerId", change.getOwnerId())
+                .addKeyValue("detail", change.getDetail())
+                .log("Device {} {}: {} -> {}",
+                        change.getDeviceId(), change.getTransition(), change.getPreviousStatus(), change.getStatus());
+    }
+}
@@ -0,0 +1,11 @@
+package com.assetmanager.event;
+
+public enum DeviceTransition {
+    REGISTER,
+    RENT,
+    RETURN,
+    MAINTENANCE,
+    REPAIR,
+    DECOMMISSION,
+    TRANSFER
+}
@@ -0,0 +1,8 @@
+package com.assetmanager.exception;
+
+// Another backup is still being written; one at a time is enough
+public class BackupInProgressException extends AssetManagerException {
+    public BackupInProgressException() {
+        super("A database backup is already in progress. Retry when it has finished.");
+    }
+}
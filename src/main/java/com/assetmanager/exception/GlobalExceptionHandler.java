@@ -1,11 +1,14 @@
 package com.assetmanager.exception;
 
 import com.assetmanager.dto.ErrorResponse;
+import com.assetmanager.metrics.AssetMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 
 import java.util.stream.Collectors;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,6 +18,12 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final AssetMetrics metrics;
+
+    public GlobalExceptionHandler(AssetMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(InvalidDeviceStateException.class)
     public ResponseEntity<ErrorResponse> handleInvalidState(InvalidDeviceStateException ex, HttpServletRequest request) {
         ErrorResponse error = new ErrorResponse(
@@ -23,6 +32,20 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getRequestURI()
         );
+        metrics.recordException(ex, HttpStatus.CONFLICT);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // Optimistic-lock conflicts (after the retry budget, if any, is spent) and lock timeouts on a device row
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentModification(ConcurrencyFailureException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                "The device was modified by another request. Reload it and try again.",
+                request.getRequestURI()
+        );
+        metrics.recordException(ex, HttpStatus.CONFLICT);
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
@@ -34,6 +57,7 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getRequestURI()
         );
+        metrics.recordException(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
  
@@ -45,6 +69,7 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getRequestURI()
         );
+        metrics.recordException(ex, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }   
 
@@ -64,6 +89,8 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        metrics.recordException(ex, HttpStatus.BAD_REQUEST);
+
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
@@ -105,9 +132,48 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        metrics.recordException(ex, HttpStatus.BAD_REQUEST);
+
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Job Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        metrics.recordException(ex, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    // Backpressure from the job workers: the client should retry after a pause rather than immediately
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleJobQueueFull(JobQueueFullException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Jobs",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        metrics.recordException(ex, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "5").body(error);
+    }
+
+    @ExceptionHandler(BackupInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleBackupInProgress(BackupInProgressException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Backup In Progress",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        metrics.recordException(ex, HttpStatus.CONFLICT);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFound(UserNotFoundException ex, HttpServletRequest request) {
         ErrorResponse error = new ErrorResponse(
@@ -116,6 +182,7 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getRequestURI()
         );
+        metrics.recordException(ex, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 }
\ No newline at end of file
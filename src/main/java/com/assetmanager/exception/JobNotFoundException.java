@@ -0,0 +1,7 @@
+package com.assetmanager.exception;
+
+public class JobNotFoundException extends AssetManagerException {
+    public JobNotFoundException(String jobId) {
+        super("Job with ID " + jobId + " was not found (finished jobs are kept for a limited time).");
+    }
+}
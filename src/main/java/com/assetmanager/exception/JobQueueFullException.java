@@ -0,0 +1,8 @@
+package com.assetmanager.exception;
+
+// Backpressure: every worker is busy and the job queue is at capacity
+public class JobQueueFullException extends AssetManagerException {
+    public JobQueueFullException(int capacity) {
+        super("The job queue is full (" + capacity + " jobs waiting). Retry later.");
+    }
+}
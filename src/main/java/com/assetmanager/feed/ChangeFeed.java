@@ -0,0 +1,288 @@
+package com.assetmanager.feed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.assetmanager.dto.DeviceFeedEvent;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.model.DeviceStatus;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+// Push feed of committed device transitions (GET /api/assets/changes, Server-Sent Events). Every transition gets the
+// next offset and is kept in a ring of the last history-size events, so a client that reconnects with Last-Event-ID
+// continues where it stopped. The committing thread only appends to the ring and offers the event to each
+// subscriber's bounded buffer; a small pool of sender threads writes the buffers to the connections. A subscriber
+// whose buffer overflows is evicted: it gets an "evicted" event and is disconnected, and resumes from the ring on
+// reconnect. A client too far behind for the ring (or from before a restart) gets a "reset" event instead, meaning
+// it has to reload the fleet and then follow the feed from the offset given.
+@Service
+public class ChangeFeed implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+    static final String CHANGE = "change";
+    static final String SUBSCRIBED = "subscribed";
+    static final String RESET = "reset";
+    static final String EVICTED = "evicted";
+    // Reconnect delay suggested to evicted clients
+    private static final long RECONNECT_MILLIS = 1000;
+
+    // Sent first on every connection: where the feed stands, and how many retained events follow
+    public record Position(String streamId, long offset, int replayed) {}
+
+    // Identifies this process' offsets: after a restart the offsets start again at 1
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final DeviceFeedEvent[] history;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeat;
+    private final Object lock = new Object();
+    private long lastOffset;
+
+    public ChangeFeed(@Value("${asset.feed.history-size:10000}") int historySize,
+                      @Value("${asset.feed.subscriber-buffer:1000}") int subscriberBuffer,
+                      @Value("${asset.feed.sender-threads:4}") int senderThreads,
+                      @Value("${asset.feed.heartbeat-seconds:15}") long heartbeatSeconds,
+                      @Value("${asset.feed.timeout-minutes:30}") long timeoutMinutes) {
+        this.history = new DeviceFeedEvent[Math.max(1, historySize)];
+        this.subscriberBuffer = Math.max(1, subscriberBuffer);
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+
+        // Unbounded queue, but never longer than the number of subscribers: each has at most one pending drain
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Keeps idle connections from being closed by proxies, and notices clients that went away
+        if (heartbeatSeconds > 0) {
+            heartbeat.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // lastEventId: the Last-Event-ID sent by a reconnecting client; status: only transitions from or to it
+    public SseEmitter subscribe(String lastEventId, DeviceStatus status) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribe(emitter, lastEventId, status);
+        return emitter;
+    }
+
+    // For an emitter created by the caller, e.g. with its own timeout
+    public void subscribe(SseEmitter emitter, String lastEventId, DeviceStatus status) {
+        Subscriber subscriber;
+        synchronized (lock) {
+            // Registered under the same lock as onDeviceChange(), so no event falls between the replay and the live feed
+            long resumeAfter = resumeOffset(lastEventId);
+            long oldestRetained = Math.max(1, lastOffset - history.length + 1);
+            boolean reset = resumeAfter < oldestRetained - 1 || resumeAfter > lastOffset;
+            List<DeviceFeedEvent> replay = new ArrayList<>();
+            if (!reset) {
+                for (long offset = resumeAfter + 1; offset <= lastOffset; offset++) {
+                    DeviceFeedEvent event = history[slot(offset)];
+                    if (status == null || event.involves(status)) {
+                        replay.add(event);
+                    }
+                }
+            }
+            subscriber = new Subscriber(emitter, status, subscriberBuffer + replay.size(), reset ? RESET : SUBSCRIBED,
+                    new Position(streamId, lastOffset, replay.size()), reset ? lastOffset : resumeAfter);
+            subscriber.buffer.addAll(replay);
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        schedule(subscriber);
+    }
+
+    // Runs on the committing thread after the commit: appends and offers only, never writes to a connection
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        synchronized (lock) {
+            for (DeviceChange change : event.getChanges()) {
+                DeviceFeedEvent feedEvent = new DeviceFeedEvent(++lastOffset, change);
+                history[slot(feedEvent.getOffset())] = feedEvent;
+                for (Subscriber subscriber : subscribers) {
+                    if ((subscriber.status == null || feedEvent.involves(subscriber.status))
+                            && !subscriber.buffer.offer(feedEvent)) {
+                        evict(subscriber);
+                    }
+                }
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.buffer.clear();
+        subscriber.evicted = true;
+        evictions.incrementAndGet();
+        log.info("Evicted a change feed subscriber that fell {} events behind", subscriberBuffer);
+        schedule(subscriber);
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    // At most one drain per subscriber is queued or running, so its events are written in order
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RuntimeException ex) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter;
+        do {
+            try {
+                if (subscriber.greeting != null) {
+                    emitter.send(SseEmitter.event().name(subscriber.greeting)
+                            .data(subscriber.position, MediaType.APPLICATION_JSON));
+                    subscriber.greeting = null;
+                }
+                DeviceFeedEvent event;
+                while (!subscriber.evicted && (event = subscriber.buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event().id(eventId(event.getOffset())).name(CHANGE)
+                            .data(event, MediaType.APPLICATION_JSON));
+                    subscriber.lastSentOffset = event.getOffset();
+                }
+                if (subscriber.evicted) {
+                    // The draining flag stays set, so nothing is scheduled for this subscriber any more
+                    emitter.send(SseEmitter.event().name(EVICTED).reconnectTime(RECONNECT_MILLIS)
+                            .data(new Position(streamId, subscriber.lastSentOffset, 0), MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                    return;
+                }
+                if (subscriber.heartbeatDue) {
+                    subscriber.heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter completed (timeout); keep the flag set and forget it
+                subscribers.remove(subscriber);
+                return;
+            }
+            subscriber.draining.set(false);
+        } while (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private String eventId(long offset) {
+        return streamId + "-" + offset;
+    }
+
+    // The offset in a Last-Event-ID of this stream; -1 for any other value, which makes the client reset
+    private long resumeOffset(String lastEventId) {
+        if (lastEventId == null) {
+            return lastOffset;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(streamId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private int slot(long offset) {
+        return (int) ((offset - 1) % history.length);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("asset.feed.subscribers", subscribers, List::size)
+                .description("Open change feed connections")
+                .register(registry);
+        FunctionCounter.builder("asset.feed.evictions", evictions, AtomicLong::get)
+                .description("Change feed subscribers disconnected for falling behind")
+                .register(registry);
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final DeviceStatus status;
+        final ArrayBlockingQueue<DeviceFeedEvent> buffer;
+        final Position position;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile String greeting;
+        volatile boolean evicted;
+        volatile boolean heartbeatDue;
+        volatile long lastSentOffset;
+
+        Subscriber(SseEmitter emitter, DeviceStatus status, int capacity, String greeting, Position position,
+                   long lastSentOffset) {
+            this.emitter = emitter;
+            this.status = status;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            this.greeting = greeting;
+            this.position = position;
+            this.lastSentOffset = lastSentOffset;
+        }
+
+        boolean hasWork() {
+            return evicted || heartbeatDue || !buffer.isEmpty();
+        }
+    }
+}
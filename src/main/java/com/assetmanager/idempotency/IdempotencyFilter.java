@@ -0,0 +1,200 @@
+package com.assetmanager.idempotency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.assetmanager.dto.ErrorResponse;
+import com.assetmanager.idempotency.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Idempotency-Key support for the device mutations (POST/PATCH under /api/assets, and job submissions under /api/jobs,
+// so a retried submission does not start a second job). The first request with a key runs
+// normally and a successful response is stored; a retry with the same key and body gets that response back
+// (marked Idempotent-Replayed) without running the operation again. Failed requests are not stored, so they can be
+// retried. The same key with a different body or query string is rejected (422), as is a retry while the original
+// still runs (409).
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        return request.getHeader(HEADER) == null
+                || !("POST".equals(method) || "PATCH".equals(method))
+                || !(path.startsWith("/api/assets") || path.startsWith("/api/jobs"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String path = request.getRequestURI();
+        String recordKey = IdempotencyStore.recordKey(request.getMethod(), path, key);
+
+        StoredResponse stored = store.find(recordKey, path);
+        if (stored != null) {
+            replay(request, response, stored);
+            return;
+        }
+        if (!store.tryStart(recordKey)) {
+            writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed; retry later");
+            return;
+        }
+        try {
+            // The original may have completed between the lookup and the claim
+            stored = store.findCached(recordKey);
+            if (stored != null) {
+                replay(request, response, stored);
+                return;
+            }
+
+            DigestingRequest digestingRequest = new DigestingRequest(request);
+            ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+            chain.doFilter(digestingRequest, cachingResponse);
+            if (HttpStatusCode.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+                store.save(recordKey, path, new StoredResponse(digestingRequest.finish(), cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray(), Instant.now()));
+            }
+            cachingResponse.copyBodyToResponse();
+        } finally {
+            store.finish(recordKey);
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse stored)
+            throws IOException {
+        if (!stored.requestHash().equals(IdempotencyStore.hash(request.getQueryString(), request.getInputStream()))) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body or query string");
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+
+    // Hashes the query string up front and the body as the handler reads it, so the request is never buffered (NDJSON imports stay streamed)
+    private static final class DigestingRequest extends HttpServletRequestWrapper {
+        private final MessageDigest digest;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+            this.digest = IdempotencyStore.requestDigest(request.getQueryString());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                ServletInputStream body = super.getInputStream();
+                inputStream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = body.read();
+                        if (b >= 0) {
+                            digest.update((byte) b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = body.read(buffer, offset, length);
+                        if (read > 0) {
+                            digest.update(buffer, offset, read);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return body.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return body.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        body.setReadListener(listener);
+                    }
+                };
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+
+        // Reads what the handler left unread (e.g. trailing whitespace), so the hash covers the whole body
+        String finish() throws IOException {
+            byte[] buffer = new byte[8192];
+            ServletInputStream body = getInputStream();
+            while (body.read(buffer, 0, buffer.length) >= 0) {
+                // digested by read()
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.assetmanager.idempotency;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.model.IdempotencyRecord;
+import com.assetmanager.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+// Responses of completed Idempotency-Key requests: a bounded in-memory cache that expires entries once they are
+// older than the TTL, backed by the idempotency_record table for the configured paths (the batch registration),
+// so those replays also survive a restart or an eviction. Requests still running are tracked separately.
+@Service
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    // Expired records are deleted at most this often, piggybacking on saves
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body, Instant createdAt) {}
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final List<String> persistedPaths;
+    private final Cache<String, StoredResponse> responses;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastPurgeMillis = new AtomicLong();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${asset.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${asset.idempotency.max-entries:10000}") long maxEntries,
+                            @Value("${asset.idempotency.persisted-paths:/api/assets/batch}") List<String> persistedPaths) {
+        this.repository = repository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.persistedPaths = persistedPaths;
+        // Entries expire relative to the original response, also when reloaded from the table
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, StoredResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, StoredResponse value, long currentTime) {
+                        return Math.max(0, ttl.minus(Duration.between(value.createdAt(), Instant.now())).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, StoredResponse value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, StoredResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Scoped to method and path, so one client key reused on two endpoints never replays the wrong response
+    public static String recordKey(String method, String path, String idempotencyKey) {
+        MessageDigest digest = sha256();
+        digest.update((method + ' ' + path + ' ' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Covers the query string as well as the body: /bulk?mode=ATOMIC and /bulk?mode=PARTIAL are different requests
+    public static String hash(String queryString, InputStream body) throws IOException {
+        MessageDigest digest = requestDigest(queryString);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = body.read(buffer)) >= 0) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Started with the normalized query string; the caller adds the body
+    static MessageDigest requestDigest(String queryString) {
+        MessageDigest digest = sha256();
+        digest.update((normalizeQuery(queryString) + '\n').getBytes(StandardCharsets.UTF_8));
+        return digest;
+    }
+
+    // Parameters in a fixed order, so ?a=1&b=2 and ?b=2&a=1 are the same request
+    static String normalizeQuery(String queryString) {
+        if (queryString == null) {
+            return "";
+        }
+        return Arrays.stream(queryString.split("&"))
+                .filter(parameter -> !parameter.isEmpty())
+                .sorted()
+                .collect(Collectors.joining("&"));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // The cached response, or for a persisted path the stored one; null if the key has not completed (or expired)
+    public StoredResponse find(String recordKey, String path) {
+        StoredResponse cached = responses.getIfPresent(recordKey);
+        if (cached != null || !persistedPaths.contains(path)) {
+            return cached;
+        }
+        Instant cutoff = Instant.now().minus(ttl);
+        return repository.findById(recordKey)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> {
+                    StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                            record.getContentType(), record.getResponseBody(), record.getCreatedAt());
+                    responses.put(recordKey, stored);
+                    return stored;
+                })
+                .orElse(null);
+    }
+
+    // Only in-memory: a replay racing the original must not wait for a database round trip
+    public StoredResponse findCached(String recordKey) {
+        return responses.getIfPresent(recordKey);
+    }
+
+    // False if a request with the same key is already running
+    public boolean tryStart(String recordKey) {
+        return inFlight.add(recordKey);
+    }
+
+    public void finish(String recordKey) {
+        inFlight.remove(recordKey);
+    }
+
+    public void save(String recordKey, String path, StoredResponse response) {
+        responses.put(recordKey, response);
+        if (!persistedPaths.contains(path)) {
+            return;
+        }
+        try {
+            repository.save(new IdempotencyRecord(recordKey, response.requestHash(), response.status(),
+                    response.contentType(), response.body(), response.createdAt()));
+            purgeExpired();
+        } catch (RuntimeException ex) {
+            // The request itself succeeded and its response is cached; only a replay after a restart is lost
+            log.warn("Could not persist the response for idempotency record {}", recordKey, ex);
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastPurgeMillis.get();
+        if (now - last >= PURGE_INTERVAL_MILLIS && lastPurgeMillis.compareAndSet(last, now)) {
+            int deleted = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+            if (deleted > 0) {
+                log.info("Deleted {} expired idempotency records", deleted);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.assetmanager.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.assetmanager.dto.JobStatus;
+import com.assetmanager.dto.JobStatus.ItemFailure;
+
+// Progress of one submitted job. Written by its worker thread, read by status requests; the methods are
+// synchronized so a status snapshot never mixes counts from before and after a chunk.
+class Job {
+    private final String id;
+    private final JobType type;
+    private final int totalItems;
+    private final int maxReportedFailures;
+    private final Instant submittedAt = Instant.now();
+    private final List<ItemFailure> failures = new ArrayList<>();
+
+    private JobState state = JobState.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private int succeeded;
+    private int failed;
+    private String error;
+
+    Job(String id, JobType type, int totalItems, int maxReportedFailures) {
+        this.id = id;
+        this.type = type;
+        this.totalItems = totalItems;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    synchronized void started() {
+        state = JobState.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    synchronized void succeeded(int items) {
+        succeeded += items;
+    }
+
+    synchronized void failed(String deviceId, String message) {
+        failed++;
+        if (failures.size() < maxReportedFailures) {
+            failures.add(new ItemFailure(deviceId, message));
+        }
+    }
+
+    synchronized void completed() {
+        state = JobState.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void aborted(String message) {
+        state = JobState.FAILED;
+        error = message;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void cancelled(String message) {
+        state = JobState.CANCELLED;
+        error = message;
+        finishedAt = Instant.now();
+    }
+
+    synchronized boolean isFinishedBefore(Instant cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+
+    synchronized JobStatus snapshot() {
+        int processed = succeeded + failed;
+        double itemsPerSecond = 0;
+        if (startedAt != null) {
+            long elapsedMillis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+            itemsPerSecond = processed * 1000.0 / Math.max(1, elapsedMillis);
+        }
+        return new JobStatus(id, type, state, totalItems, processed, succeeded, failed, itemsPerSecond,
+                submittedAt, startedAt, finishedAt, error, List.copyOf(failures));
+    }
+}
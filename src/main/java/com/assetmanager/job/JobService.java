@@ -0,0 +1,281 @@
+package com.assetmanager.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.dto.BulkMode;
+import com.assetmanager.dto.BulkOperation;
+import com.assetmanager.dto.BulkTransitionReport;
+import com.assetmanager.dto.BulkTransitionReport.DeviceOutcome;
+import com.assetmanager.dto.BulkTransitionRequest;
+import com.assetmanager.dto.JobStatus;
+import com.assetmanager.dto.JobStatus.ItemFailure;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.exception.JobNotFoundException;
+import com.assetmanager.exception.JobQueueFullException;
+import com.assetmanager.metrics.AssetMetrics;
+import com.assetmanager.model.Device;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.service.BulkTransitionService;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+// Asynchronous batch registrations and bulk transitions (POST /api/jobs/...). A submitted job returns at once with
+// its ID; a fixed pool of workers processes it in chunks of chunk-size items, each chunk in its own transaction, so
+// no request and no transaction stays open for the whole run. The queue in front of the workers is bounded: when it
+// is full, submissions are rejected (429) instead of piling up work the workers cannot catch up with.
+// Jobs live in memory only; finished jobs are forgotten after the retention period or a restart.
+@Service
+public class JobService implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private final DeviceRepository repository;
+    private final BulkTransitionService bulkTransitionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssetMetrics metrics;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final int maxItems;
+    private final int maxReportedFailures;
+    private final Duration retention;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private record ChunkResult(int imported, List<ItemFailure> rejected) {}
+
+    public JobService(DeviceRepository repository, BulkTransitionService bulkTransitionService,
+                      TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                      AssetMetrics metrics,
+                      @Value("${asset.jobs.workers:2}") int workerCount,
+                      @Value("${asset.jobs.queue-capacity:16}") int queueCapacity,
+                      @Value("${asset.jobs.chunk-size:500}") int chunkSize,
+                      @Value("${asset.jobs.max-items:1000000}") int maxItems,
+                      @Value("${asset.jobs.max-reported-failures:1000}") int maxReportedFailures,
+                      @Value("${asset.jobs.retention-minutes:60}") long retentionMinutes) {
+        this.repository = repository;
+        this.bulkTransitionService = bulkTransitionService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+        this.maxReportedFailures = maxReportedFailures;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "asset-job-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Running jobs finish their current chunk; queued jobs are dropped with the rest of the in-memory state
+        workers.shutdownNow();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Job workers did not stop within 30 s");
+        }
+    }
+
+    @Timed(value = "asset.service", histogram = true)
+    public JobStatus submitImport(List<Device> devices) {
+        checkSize(devices.size());
+        metrics.recordBatchSize("job-import", devices.size());
+        return submit(JobType.IMPORT, devices.size(), job -> runImport(job, devices));
+    }
+
+    @Timed(value = "asset.service", histogram = true)
+    public JobStatus submitBulkTransition(BulkTransitionRequest request) {
+        checkSize(request.getDeviceIds().size());
+        if (request.getOperation() == BulkOperation.RENT && request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is mandatory for the RENT operation");
+        }
+        metrics.recordBatchSize("job-bulk-" + request.getOperation().name().toLowerCase(Locale.ROOT),
+                request.getDeviceIds().size());
+        return submit(JobType.BULK_TRANSITION, request.getDeviceIds().size(), job -> runBulkTransition(job, request));
+    }
+
+    @Timed(value = "asset.service", histogram = true)
+    public JobStatus getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException(jobId);
+        }
+        return job.snapshot();
+    }
+
+    private void checkSize(int items) {
+        if (items > maxItems) {
+            throw new IllegalArgumentException("A job can contain at most " + maxItems + " items");
+        }
+    }
+
+    // work returns false if it stopped before every chunk was processed
+    private JobStatus submit(JobType type, int items, Predicate<Job> work) {
+        forgetFinishedJobs();
+        Job job = new Job(UUID.randomUUID().toString(), type, items, maxReportedFailures);
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> run(job, work));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            throw new JobQueueFullException(queueCapacity);
+        }
+        log.info("Job {} ({}, {} items) queued", job.getId(), type, items);
+        return job.snapshot();
+    }
+
+    private void run(Job job, Predicate<Job> work) {
+        job.started();
+        try {
+            if (work.test(job)) {
+                job.completed();
+            } else {
+                job.cancelled("Interrupted before every chunk was processed; the processed chunks stay committed");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Job {} failed", job.getId(), ex);
+            job.aborted(ex.getMessage());
+        }
+        log.info("Job {} finished: {}", job.getId(), job.snapshot().getState());
+    }
+
+    private void forgetFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    // Each chunk commits on its own: a failed chunk only affects its own devices, earlier chunks stay committed
+    private boolean runImport(Job job, List<Device> devices) {
+        for (int from = 0; from < devices.size(); from += chunkSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            List<Device> chunk = devices.subList(from, Math.min(from + chunkSize, devices.size()));
+            ChunkResult result;
+            try {
+                result = transactionTemplate.execute(status -> importChunk(chunk));
+            } catch (DataAccessException ex) {
+                for (Device device : chunk) {
+                    job.failed(device == null ? null : device.getDeviceId(),
+                            "Chunk could not be stored: " + ex.getMostSpecificCause().getMessage());
+                }
+                continue;
+            }
+            // Counted only after the commit, so a rolled-back chunk is never reported twice
+            job.succeeded(result.imported());
+            for (ItemFailure failure : result.rejected()) {
+                job.failed(failure.getDeviceId(), failure.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private ChunkResult importChunk(List<Device> chunk) {
+        // Earlier chunks are already committed, so this also catches IDs repeated across chunks
+        Set<String> existingIds = repository.findExistingDeviceIds(chunk.stream()
+                .filter(device -> device != null)
+                .map(Device::getDeviceId)
+                .toList());
+        Set<String> chunkIds = new HashSet<>();
+        List<Device> accepted = new ArrayList<>(chunk.size());
+        List<ItemFailure> rejected = new ArrayList<>();
+
+        for (Device device : chunk) {
+            if (device == null) {
+                rejected.add(new ItemFailure(null, "Device cannot be null"));
+            } else if (existingIds.contains(device.getDeviceId())) {
+                rejected.add(new ItemFailure(device.getDeviceId(), "Device ID already exists: " + device.getDeviceId()));
+            } else if (!chunkIds.add(device.getDeviceId())) {
+                rejected.add(new ItemFailure(device.getDeviceId(), "Device ID is duplicated in the job: " + device.getDeviceId()));
+            } else {
+                accepted.add(device);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            repository.insertAll(accepted);
+            eventPublisher.publishEvent(DeviceChangeEvent.registered(accepted));
+        }
+        return new ChunkResult(accepted.size(), rejected);
+    }
+
+    // Chunks go through BulkTransitionService in PARTIAL mode: one transaction per chunk, per-device outcomes.
+    // The batch size was recorded for the whole job at submission, so the chunks are not recorded again.
+    private boolean runBulkTransition(Job job, BulkTransitionRequest request) {
+        List<String> deviceIds = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String deviceId : request.getDeviceIds()) {
+            if (seen.add(deviceId)) {
+                deviceIds.add(deviceId);
+            } else {
+                job.failed(deviceId, "Device ID is duplicated in the job: " + deviceId);
+            }
+        }
+
+        for (int from = 0; from < deviceIds.size(); from += chunkSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            List<String> chunk = deviceIds.subList(from, Math.min(from + chunkSize, deviceIds.size()));
+            BulkTransitionReport report;
+            try {
+                report = bulkTransitionService.applyChunk(new BulkTransitionRequest(request.getOperation(),
+                        chunk, request.getUserId(), request.getReason()), BulkMode.PARTIAL);
+            } catch (DataAccessException ex) {
+                // e.g. a device changed concurrently: the chunk was rolled back as a whole
+                for (String deviceId : chunk) {
+                    job.failed(deviceId, "Chunk could not be stored: " + ex.getMostSpecificCause().getMessage());
+                }
+                continue;
+            }
+            job.succeeded(report.getSucceeded());
+            for (DeviceOutcome outcome : report.getResults()) {
+                if (outcome.getOutcome() == BulkTransitionReport.Outcome.FAILED) {
+                    job.failed(outcome.getDeviceId(), outcome.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("asset.jobs.queued", workers, executor -> executor.getQueue().size())
+                .description("Jobs waiting for a worker")
+                .register(registry);
+        Gauge.builder("asset.jobs.running", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Jobs being processed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,9 @@
+package com.assetmanager.job;
+
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED, // Every chunk was processed; individual items may still have failed (see the failures)
+    FAILED,    // Stopped early by an error that is not about a single item, e.g. the rental user does not exist
+    CANCELLED  // Stopped before every chunk was processed because the worker was interrupted, e.g. at shutdown
+}
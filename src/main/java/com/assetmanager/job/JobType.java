@@ -0,0 +1,6 @@
+package com.assetmanager.job;
+
+public enum JobType {
+    IMPORT,          // Registration of a device list (the asynchronous /api/assets/batch)
+    BULK_TRANSITION  // One operation for many devices (the asynchronous /api/assets/bulk)
+}
@@ -0,0 +1,60 @@
+package com.assetmanager.metrics;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Application meters that Micrometer cannot derive on its own. Call timings come from @Timed on the services and
+// Spring Data's repository invocation metrics; this adds what happened (committed transitions), how big batch
+// requests are, and which errors reached the clients.
+@Component
+public class AssetMetrics {
+    public static final String BATCH_SIZE = "asset.batch.size";
+    public static final String TRANSITIONS = "asset.transitions";
+    public static final String EXCEPTIONS = "asset.exceptions";
+
+    private final MeterRegistry registry;
+
+    public AssetMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Devices per batch request (register, import, bulk-<operation>), published as a histogram
+    public void recordBatchSize(String operation, long size) {
+        DistributionSummary.builder(BATCH_SIZE)
+                .description("Devices per batch request")
+                .baseUnit("devices")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(size);
+    }
+
+    public void recordException(Exception exception, HttpStatus status) {
+        Counter.builder(EXCEPTIONS)
+                .description("Exceptions turned into error responses by GlobalExceptionHandler")
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(registry)
+                .increment();
+    }
+
+    // Counted after the commit, so rolled-back or retried attempts are not included
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        for (DeviceChange change : event.getChanges()) {
+            Counter.builder(TRANSITIONS)
+                    .description("Committed device state transitions")
+                    .tag("transition", change.getTransition().name())
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.assetmanager.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.service.FleetCounters;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Fleet size per DeviceStatus as gauges, read from the in-memory FleetCounters (a scrape never queries the database)
+@Component
+public class FleetStatusMetrics implements MeterBinder {
+    private final FleetCounters counters;
+
+    public FleetStatusMetrics(FleetCounters counters) {
+        this.counters = counters;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DeviceStatus status : DeviceStatus.values()) {
+            Gauge.builder("asset.fleet.devices", counters, fleetCounters -> fleetCounters.countByStatus(status))
+                    .description("Devices per status")
+                    .baseUnit("devices")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.assetmanager.model;
+
+// Rows stamped with a change sequence number on every insert and update (see com.assetmanager.sync.ChangeSequence)
+public interface ChangeTracked {
+    long getChangeSeq();
+
+    void setChangeSeq(long changeSeq);
+}
@@ -7,7 +7,11 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.assetmanager.exception.InvalidDeviceStateException;
+import com.assetmanager.sync.ChangeSequenceListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -15,7 +19,18 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 @Entity // Tells JPA this is a database table
+@Table(name = "device", indexes = {
+    @Index(name = "idx_device_brand_key", columnList = "brand_key"),
+    // Status-only filters use the leading column; status + brand filters use both
+    @Index(name = "idx_device_status_brand_key", columnList = "status, brand_key"),
+    // Delta sync reads rows after a change sequence number in that order
+    @Index(name = "idx_device_change_seq", columnList = "change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
 @Inheritance(strategy = InheritanceType.JOINED)
+@NamedEntityGraph(name = Device.WITH_OWNER, attributeNodes = @NamedAttributeNode("user"))
+@Cacheable // Second-level cache region shared by the whole hierarchy (Laptop and MobilePhone included)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "device")
 @JsonTypeInfo(
   use = JsonTypeInfo.Id.NAME, 
   include = JsonTypeInfo.As.PROPERTY, 
@@ -25,7 +40,9 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
   @JsonSubTypes.Type(value = MobilePhone.class, name = "phone"),
   @JsonSubTypes.Type(value = Laptop.class, name = "laptop")
 })
-public abstract class Device {
+public abstract class Device implements ChangeTracked {
+    // Fetch plan for device reads that return the owner as well (see DeviceRepository)
+    public static final String WITH_OWNER = "Device.withOwner";
 
     @Id // Primary Key
     @Size(min = 3, max = 20, message = "Device ID must be between 3 and 20 characters")
@@ -34,6 +51,10 @@ public abstract class Device {
 
     @NotBlank(message = "Brand is mandatory")
     private String brand;
+
+    // Upper-cased copy of brand for indexed case-insensitive lookups (maintained by normalizeLookupKeys)
+    @Column(name = "brand_key")
+    private String brandKey;
     
     @NotBlank(message = "Model is mandatory")
     private String model;
@@ -45,6 +66,16 @@ public abstract class Device {
     private String maintenanceReason;
     private LocalDate decommissionDate;
 
+    // Optimistic locking: concurrent transitions on the same device cannot both commit
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Bumped on every insert and update (see ChangeSequenceListener); GET /api/sync/changes pages by it
+    @Column(name = "change_seq", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long changeSeq;
+
     @ManyToOne
     @JsonBackReference
     @JoinColumn(name = "userId")
@@ -91,6 +122,20 @@ public abstract class Device {
         return decommissionDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public void rent() {
         ensuredNotDecommissioned();
         if (this.status != DeviceStatus.AVAILABLE) {
@@ -156,6 +201,12 @@ public abstract class Device {
         this.setOwner(newOwner);
     }
 
+    @PrePersist
+    @PreUpdate
+    void normalizeLookupKeys() {
+        this.brandKey = LookupKey.normalize(brand);
+    }
+
     @Override
     public String toString() {
         return String.format("[ID: %s | Brand: %s | Model: %s | Status: %s]", deviceId, brand, model, status);
@@ -0,0 +1,60 @@
+package com.assetmanager.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+// Stored response of a request sent with an Idempotency-Key, so a retry after a restart still gets the original
+// answer. Only endpoints whose replay must survive the in-memory cache are persisted (see IdempotencyStore).
+@Entity
+@Table(name = "idempotency_record", indexes = {
+    @Index(name = "idx_idempotency_record_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord {
+
+    // SHA-256 of method, path and key, so any client key fits the primary key
+    @Id
+    @Column(name = "record_key", length = 64)
+    private String recordKey;
+
+    // SHA-256 of the request body; the same key with a different body is rejected instead of replayed
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Lob
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected IdempotencyRecord() {}
+
+    public IdempotencyRecord(String recordKey, String requestHash, int statusCode, String contentType,
+                             byte[] responseBody, Instant createdAt) {
+        this.recordKey = recordKey;
+        this.requestHash = requestHash;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+    }
+
+    public String getRecordKey() { return recordKey; }
+    public String getRequestHash() { return requestHash; }
+    public int getStatusCode() { return statusCode; }
+    public String getContentType() { return contentType; }
+    public byte[] getResponseBody() { return responseBody; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,14 @@
+package com.assetmanager.model;
+
+import java.util.Locale;
+
+// Case-insensitive lookups go through upper-cased shadow columns (brand_key, employee_id_key, username_key)
+// so they can use plain B-tree indexes instead of upper(column) = upper(?) table scans
+public final class LookupKey {
+
+    private LookupKey() {}
+
+    public static String normalize(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+}
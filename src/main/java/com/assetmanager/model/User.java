@@ -6,14 +6,28 @@ import jakarta.validation.constraints.NotNull;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.assetmanager.sync.ChangeSequenceListener;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
-@Table(name = "users")
-public class User {
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_employee_id_key", columnList = "employee_id_key"),
+    @Index(name = "idx_users_username_key", columnList = "username_key"),
+    @Index(name = "idx_users_change_seq", columnList = "change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NamedEntityGraph(name = User.WITH_DEVICES, attributeNodes = @NamedAttributeNode("devices"))
+public class User implements ChangeTracked {
+    // Fetch plan for reads that need the user's devices (see UserRepository)
+    public static final String WITH_DEVICES = "User.withDevices";
 
     @Id // Primary Key
     @NotNull(message = "User ID is mandatory")
@@ -25,6 +39,18 @@ public class User {
     @NotBlank(message = "Employee ID is mandatory")
     private String employeeId;
 
+    // Upper-cased copies for indexed case-insensitive lookups (maintained by normalizeLookupKeys)
+    @Column(name = "username_key")
+    private String usernameKey;
+
+    @Column(name = "employee_id_key")
+    private String employeeIdKey;
+
+    // Bumped on every insert and update (see ChangeSequenceListener)
+    @Column(name = "change_seq", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long changeSeq;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     @JsonIgnore
@@ -58,4 +84,21 @@ public class User {
     public List<Device> getDevices() {
         return devices;
     }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeLookupKeys() {
+        this.usernameKey = LookupKey.normalize(username);
+        this.employeeIdKey = LookupKey.normalize(employeeId);
+    }
 }
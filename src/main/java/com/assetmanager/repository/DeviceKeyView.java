@@ -0,0 +1,10 @@
+package com.assetmanager.repository;
+
+import com.assetmanager.model.DeviceStatus;
+
+// Projection with only the columns the in-memory lookups need, so rebuilding them never loads full entities
+public interface DeviceKeyView {
+    String getDeviceId();
+    DeviceStatus getStatus();
+    String getBrand();
+}
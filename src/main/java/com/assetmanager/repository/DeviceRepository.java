@@ -2,23 +2,125 @@ package com.assetmanager.repository;
 
 import com.assetmanager.model.Device;
 import com.assetmanager.model.DeviceStatus;
-import com.assetmanager.model.User;
+import com.assetmanager.model.LookupKey;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface DeviceRepository extends JpaRepository<Device, String> {
-    // Finds by status
+public interface DeviceRepository extends JpaRepository<Device, String>, DeviceRepositoryCustom {
+    // Every list read uses the "Device.withOwner" fetch plan: the owner is joined into the same statement
+    // instead of being loaded with one extra SELECT per distinct owner
+
+    @Override
+    @EntityGraph(Device.WITH_OWNER)
+    List<Device> findAll();
+
+    // Finds by status (filter queries are served from the query cache until a device row changes)
+    @EntityGraph(Device.WITH_OWNER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Device> findByStatus(DeviceStatus status);
 
+    // Brand filters compare the indexed brand_key shadow column instead of upper(brand) = upper(?)
+
     // Finds by brand (ignoring case)
-    List<Device> findByBrandIgnoreCase(String brand);
+    default List<Device> findByBrandIgnoreCase(String brand) {
+        return findByBrandKey(LookupKey.normalize(brand));
+    }
+
+    @EntityGraph(Device.WITH_OWNER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Device> findByBrandKey(String brandKey);
 
     // Combined filter for your search UI
-    List<Device> findByStatusAndBrandIgnoreCase(DeviceStatus status, String brand);
+    default List<Device> findByStatusAndBrandIgnoreCase(DeviceStatus status, String brand) {
+        return findByStatusAndBrandKey(status, LookupKey.normalize(brand));
+    }
+
+    @EntityGraph(Device.WITH_OWNER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Device> findByStatusAndBrandKey(DeviceStatus status, String brandKey);
+
+    // Devices of every user with the given employee ID (ignoring case), owners included, in one statement
+    default List<Device> findByOwnerEmployeeId(String employeeId) {
+        return findByOwnerEmployeeIdKey(LookupKey.normalize(employeeId));
+    }
+
+    @Query("select d from Device d join fetch d.user u where u.employeeIdKey = :employeeIdKey")
+    List<Device> findByOwnerEmployeeIdKey(@Param("employeeIdKey") String employeeIdKey);
+
+    // Keyset pagination: rows strictly after the cursor ID in primary key order, so every page is an index range scan
+    @EntityGraph(Device.WITH_OWNER)
+    List<Device> findByDeviceIdGreaterThanOrderByDeviceIdAsc(String afterDeviceId, Limit limit);
+
+    @EntityGraph(Device.WITH_OWNER)
+    List<Device> findByStatusAndDeviceIdGreaterThanOrderByDeviceIdAsc(DeviceStatus status, String afterDeviceId, Limit limit);
+
+    default List<Device> findByBrandIgnoreCaseAndDeviceIdGreaterThanOrderByDeviceIdAsc(String brand, String afterDeviceId, Limit limit) {
+        return findByBrandKeyAndDeviceIdGreaterThanOrderByDeviceIdAsc(LookupKey.normalize(brand), afterDeviceId, limit);
+    }
+
+    @EntityGraph(Device.WITH_OWNER)
+    List<Device> findByBrandKeyAndDeviceIdGreaterThanOrderByDeviceIdAsc(String brandKey, String afterDeviceId, Limit limit);
+
+    default List<Device> findByStatusAndBrandIgnoreCaseAndDeviceIdGreaterThanOrderByDeviceIdAsc(DeviceStatus status, String brand, String afterDeviceId, Limit limit) {
+        return findByStatusAndBrandKeyAndDeviceIdGreaterThanOrderByDeviceIdAsc(status, LookupKey.normalize(brand), afterDeviceId, limit);
+    }
+
+    @EntityGraph(Device.WITH_OWNER)
+    List<Device> findByStatusAndBrandKeyAndDeviceIdGreaterThanOrderByDeviceIdAsc(DeviceStatus status, String brandKey, String afterDeviceId, Limit limit);
+
+    // Delta sync: rows changed after one change sequence number up to another, in sequence order (index range scan)
+    @EntityGraph(Device.WITH_OWNER)
+    List<Device> findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(long afterChangeSeq, long upToChangeSeq, Limit limit);
+
+    // Full export: read-only rows pulled from the cursor in fetch-size batches, owners joined in the same statement.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select d from Device d left join fetch d.user order by d.deviceId")
+    Stream<Device> streamAllForExport();
+
+    @Query("select d.deviceId as deviceId, d.status as status, d.brand as brand from Device d")
+    List<DeviceKeyView> findAllKeys();
+
+    // Catalog fields for the full-text search index (phones joined for their number)
+    @Query("select d.deviceId as deviceId, d.brand as brand, d.model as model, d.operatingSystem as operatingSystem, "
+            + "p.phoneNumber as phoneNumber from Device d left join MobilePhone p on p.deviceId = d.deviceId")
+    List<DeviceSearchView> findAllSearchFields();
+
+    @Query("select d.deviceId as deviceId, d.brand as brand, d.model as model, d.operatingSystem as operatingSystem, "
+            + "p.phoneNumber as phoneNumber from Device d left join MobilePhone p on p.deviceId = d.deviceId "
+            + "where d.deviceId in :deviceIds")
+    List<DeviceSearchView> findSearchFieldsByDeviceIdIn(@Param("deviceIds") Collection<String> deviceIds);
+
+    // Fleet aggregates, computed by the database without loading any entity. Only FleetCounters runs them, to build
+    // its in-memory counts and to detect and repair drift, including writes made behind Hibernate's back (snapshot
+    // restore, SQL console); so they are not cacheable. Values without devices are absent.
+    @Query("select d.status as status, d.brandKey as brandKey, min(d.brand) as brand, u.userId as ownerId, count(d) as count "
+            + "from Device d left join d.user u group by d.status, d.brandKey, u.userId")
+    List<FleetCountView> countByStatusBrandAndOwner();
+
+    @Query("select d.operatingSystem as value, count(d) as count from Device d group by d.operatingSystem")
+    List<GroupCountView> countByOperatingSystem();
+
+    @Query("select count(l) as count, coalesce(sum(l.ramSizeGb), 0) as totalRamGb from Laptop l")
+    LaptopStatsView laptopStats();
 
-    List<Device> findByUser(User user);
-}
\ No newline at end of file
+    @Query("select count(p) from MobilePhone p")
+    long countPhones();
+}
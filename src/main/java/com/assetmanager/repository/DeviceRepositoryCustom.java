@@ -0,0 +1,18 @@
+package com.assetmanager.repository;
+
+import com.assetmanager.model.Device;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface DeviceRepositoryCustom {
+    // Returns the subset of the given IDs that are already stored (one IN-list query per chunk)
+    Set<String> findExistingDeviceIds(Collection<String> deviceIds);
+
+    // Loads devices by primary key with one IN-list query per chunk; unknown IDs are skipped
+    List<Device> findAllByDeviceIds(Collection<String> deviceIds);
+
+    // Inserts new devices through JDBC batch statements, flushing and clearing the persistence context per chunk
+    void insertAll(List<? extends Device> devices);
+}
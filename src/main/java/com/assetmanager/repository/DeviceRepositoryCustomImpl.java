@@ -0,0 +1,80 @@
+package com.assetmanager.repository;
+
+import com.assetmanager.model.Device;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+public class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int chunkSize;
+
+    public DeviceRepositoryCustomImpl(@Value("${asset.batch.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("asset.batch.chunk-size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Set<String> findExistingDeviceIds(Collection<String> deviceIds) {
+        List<String> ids = deviceIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            existing.addAll(entityManager
+                    .createQuery("select d.deviceId from Device d where d.deviceId in :ids", String.class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+        return existing;
+    }
+
+    @Override
+    public List<Device> findAllByDeviceIds(Collection<String> deviceIds) {
+        List<String> ids = List.copyOf(deviceIds);
+
+        List<Device> devices = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            devices.addAll(entityManager
+                    .createQuery("select d from Device d left join fetch d.user where d.deviceId in :ids", Device.class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+        return devices;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<? extends Device> devices) {
+        // persist() instead of save(): save() merges entities with an assigned ID, which costs a SELECT per device
+        for (int i = 0; i < devices.size(); i++) {
+            entityManager.persist(devices.get(i));
+            if ((i + 1) % chunkSize == 0) {
+                // Hibernate groups the pending inserts into JDBC batches of hibernate.jdbc.batch_size
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
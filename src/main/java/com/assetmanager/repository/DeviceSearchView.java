@@ -0,0 +1,10 @@
+package com.assetmanager.repository;
+
+// Searchable catalog fields of a device; phoneNumber is null for laptops
+public interface DeviceSearchView {
+    String getDeviceId();
+    String getBrand();
+    String getModel();
+    String getOperatingSystem();
+    String getPhoneNumber();
+}
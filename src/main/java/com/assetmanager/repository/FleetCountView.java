@@ -0,0 +1,12 @@
+package com.assetmanager.repository;
+
+import com.assetmanager.model.DeviceStatus;
+
+// One (status, brand, owner) group of the fleet with its device count
+public interface FleetCountView {
+    DeviceStatus getStatus();
+    String getBrandKey();
+    String getBrand();
+    Integer getOwnerId(); // null for devices without an owner
+    long getCount();
+}
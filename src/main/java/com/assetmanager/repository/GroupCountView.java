@@ -0,0 +1,7 @@
+package com.assetmanager.repository;
+
+// One row of a GROUP BY aggregate over a single string attribute
+public interface GroupCountView {
+    String getValue();
+    long getCount();
+}
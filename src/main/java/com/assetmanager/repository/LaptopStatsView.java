@@ -0,0 +1,6 @@
+package com.assetmanager.repository;
+
+public interface LaptopStatsView {
+    long getCount();
+    long getTotalRamGb(); // 0 when there are no laptops
+}
@@ -1,23 +1,67 @@
 package com.assetmanager.repository;
 
+import com.assetmanager.model.LookupKey;
 import com.assetmanager.model.User;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
+    // Case-insensitive lookups compare the indexed *_key shadow columns (served from the query cache until a user row changes)
+
     // Finds by username (ignoring case)
-    List<User> findByUsernameIgnoreCase(String username);
+    default List<User> findByUsernameIgnoreCase(String username) {
+        return findByUsernameKey(LookupKey.normalize(username));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<User> findByUsernameKey(String usernameKey);
 
     // Finds by employee ID (ignoring case)
-    List<User> findByEmployeeIdIgnoreCase(String employeeId);
+    default List<User> findByEmployeeIdIgnoreCase(String employeeId) {
+        return findByEmployeeIdKey(LookupKey.normalize(employeeId));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<User> findByEmployeeIdKey(String employeeIdKey);
 
     // Finds by username and employee ID (both ignoring case)
-    List<User> findByUsernameIgnoreCaseAndEmployeeIdIgnoreCase(String username, String employeeId);
+    default List<User> findByUsernameIgnoreCaseAndEmployeeIdIgnoreCase(String username, String employeeId) {
+        return findByUsernameKeyAndEmployeeIdKey(LookupKey.normalize(username), LookupKey.normalize(employeeId));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<User> findByUsernameKeyAndEmployeeIdKey(String usernameKey, String employeeIdKey);
 
     // Finds by user Id    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<User> findByUserId(int userId);
+
+    // User with the devices collection initialized by the same statement ("User.withDevices" fetch plan)
+    @EntityGraph(User.WITH_DEVICES)
+    Optional<User> findWithDevicesByUserId(int userId);
+
+    // Delta sync: rows changed after one change sequence number up to another, in sequence order
+    List<User> findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(long afterChangeSeq, long upToChangeSeq, Limit limit);
+
+    // Full export: read-only rows pulled from the cursor in fetch-size batches.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.userId")
+    Stream<User> streamAllForExport();
 }
\ No newline at end of file
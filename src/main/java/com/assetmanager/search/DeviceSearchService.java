@@ -0,0 +1,143 @@
+package com.assetmanager.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.dto.DeviceSearchHit;
+import com.assetmanager.dto.DeviceSearchResult;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.Device;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.repository.DeviceSearchView;
+
+import io.micrometer.core.annotation.Timed;
+
+// Full-text and prefix search over brand, model, operating system, device ID and phone number (GET /api/assets/search).
+// The SearchIndex is built before the web server starts and extended from committed registrations; only the
+// devices of the requested page are then loaded from the database.
+@Service
+public class DeviceSearchService implements SmartInitializingSingleton {
+    // Catalog lookups for newly registered devices, per IN list
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final DeviceRepository repository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxResultWindow;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SearchIndex index = new SearchIndex();
+
+    public DeviceSearchService(DeviceRepository repository,
+                               @Value("${asset.search.default-page-size:20}") int defaultPageSize,
+                               @Value("${asset.search.max-page-size:100}") int maxPageSize,
+                               @Value("${asset.search.max-result-window:10000}") int maxResultWindow) {
+        this.repository = repository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxResultWindow = maxResultWindow;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            SearchIndex fresh = new SearchIndex();
+            for (DeviceSearchView device : repository.findAllSearchFields()) {
+                add(fresh, device);
+            }
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only registrations change the index: brand, model, OS and phone number are fixed once a device exists
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        List<String> registered = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (DeviceChange change : event.getChanges()) {
+                if (change.getTransition() == DeviceTransition.REGISTER && !index.contains(change.getDeviceId())) {
+                    registered.add(change.getDeviceId());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // The catalog is read after commit without holding the lock, so searches keep running meanwhile
+        for (int from = 0; from < registered.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = registered.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, registered.size()));
+            List<DeviceSearchView> devices = repository.findSearchFieldsByDeviceIdIn(chunk);
+            lock.writeLock().lock();
+            try {
+                for (DeviceSearchView device : devices) {
+                    add(index, device);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Timed(value = "asset.service", histogram = true)
+    public DeviceSearchResult search(String query, Integer page, Integer size) {
+        if (query == null || SearchIndex.tokenize(query).isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative: " + pageNumber);
+        }
+        if (size != null && size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        int pageSize = Math.min(size == null ? defaultPageSize : size, maxPageSize);
+        // Deep pages cost as much as the whole window in front of them; refine the query instead
+        if ((long) (pageNumber + 1) * pageSize > maxResultWindow) {
+            throw new IllegalArgumentException("Search results are limited to the first " + maxResultWindow + " matches");
+        }
+
+        SearchIndex.Result result;
+        lock.readLock().lock();
+        try {
+            result = index.search(query, pageNumber * pageSize, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Device> devices = repository.findAllById(result.hits().stream().map(SearchIndex.Hit::deviceId).toList())
+                .stream()
+                .collect(Collectors.toMap(Device::getDeviceId, Function.identity()));
+        List<DeviceSearchHit> hits = new ArrayList<>(result.hits().size());
+        for (SearchIndex.Hit hit : result.hits()) {
+            Device device = devices.get(hit.deviceId());
+            // Indexed but no longer stored (removed behind the services' back): skipped until the next rebuild
+            if (device != null) {
+                hits.add(new DeviceSearchHit(device, hit.score()));
+            }
+        }
+        return new DeviceSearchResult(query, result.total(), pageNumber, pageSize, hits);
+    }
+
+    private static void add(SearchIndex index, DeviceSearchView device) {
+        index.add(device.getDeviceId(), device.getBrand(), device.getModel(), device.getOperatingSystem(),
+                device.getPhoneNumber());
+    }
+}
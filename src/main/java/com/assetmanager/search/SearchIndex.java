@@ -0,0 +1,198 @@
+package com.assetmanager.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Inverted index over the searchable device fields. Not thread-safe; DeviceSearchService guards it with a lock.
+//
+// Text is split into lower-cased alphanumeric tokens ("ThinkPad X1-Carbon" -> thinkpad, x1, carbon). Every term keeps
+// a posting list of device ordinals, sorted because ordinals are handed out in insertion order. Terms live in a sorted
+// dictionary, so all terms starting with a query token form one contiguous key range: that answers the same queries
+// as an edge n-gram index without storing a posting list per prefix. A query matches devices that have, for every
+// query token, some term starting with it; devices are ranked by field weight and by how much of the term was typed.
+public final class SearchIndex {
+
+    public enum Field {
+        DEVICE_ID(4), MODEL(3), PHONE_NUMBER(3), BRAND(2), OPERATING_SYSTEM(1);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    public record Hit(String deviceId, double score) {}
+
+    public record Result(int total, List<Hit> hits) {}
+
+    private static final class Term {
+        final String text;
+        int[] ordinals = new int[2];
+        int size;
+
+        Term(String text) {
+            this.text = text;
+        }
+
+        void add(int ordinal) {
+            // Two fields of the same device can share a term; it is posted once
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(ordinals[i]);
+            }
+        }
+    }
+
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> deviceIds = new ArrayList<>();
+    // Forward index for ranking: the terms of device n are forwardTerms[starts[n] .. starts[n + 1])
+    private final List<Term> forwardTerms = new ArrayList<>();
+    private final List<Field> forwardFields = new ArrayList<>();
+    private int[] starts = new int[1024];
+
+    public int size() {
+        return deviceIds.size();
+    }
+
+    public boolean contains(String deviceId) {
+        return ordinals.containsKey(deviceId);
+    }
+
+    // The catalog fields never change after registration, so a device is only ever added once
+    public void add(String deviceId, String brand, String model, String operatingSystem, String phoneNumber) {
+        if (ordinals.containsKey(deviceId)) {
+            return;
+        }
+        int ordinal = deviceIds.size();
+        ordinals.put(deviceId, ordinal);
+        deviceIds.add(deviceId);
+        if (ordinal + 1 == starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+        }
+        starts[ordinal] = forwardTerms.size();
+
+        addField(ordinal, Field.DEVICE_ID, deviceId);
+        addField(ordinal, Field.BRAND, brand);
+        addField(ordinal, Field.MODEL, model);
+        addField(ordinal, Field.OPERATING_SYSTEM, operatingSystem);
+        addField(ordinal, Field.PHONE_NUMBER, phoneNumber);
+        starts[ordinal + 1] = forwardTerms.size();
+    }
+
+    private void addField(int ordinal, Field field, String value) {
+        List<String> tokens = tokenize(value);
+        // Identifiers are also typed without separators ("LT0001" for "LT-0001", digits only for phone numbers)
+        if ((field == Field.DEVICE_ID || field == Field.PHONE_NUMBER) && tokens.size() > 1) {
+            tokens.add(String.join("", tokens));
+        }
+        for (String token : tokens) {
+            Term term = terms.computeIfAbsent(token, Term::new);
+            term.add(ordinal);
+            forwardTerms.add(term);
+            forwardFields.add(field);
+        }
+    }
+
+    // Ranked hits offset .. offset + limit (best first, ties by device ID) and the total number of matches
+    public Result search(String query, int offset, int limit) {
+        Set<String> queryTokens = new LinkedHashSet<>(tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return new Result(0, List.of());
+        }
+
+        BitSet matches = null;
+        for (String token : queryTokens) {
+            BitSet tokenMatches = new BitSet(deviceIds.size());
+            // Every term with this prefix: [token, token + U+FFFF)
+            for (Term term : terms.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                term.addTo(tokenMatches);
+            }
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.and(tokenMatches);
+            }
+            if (matches.isEmpty()) {
+                return new Result(0, List.of());
+            }
+        }
+
+        // Only the best offset + limit hits are kept while scoring, so a broad query never sorts every match
+        int window = offset + limit;
+        Comparator<Hit> best = Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::deviceId);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, window), best.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0 && window > 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            Hit hit = new Hit(deviceIds.get(ordinal), score(ordinal, queryTokens));
+            if (top.size() < window) {
+                top.add(hit);
+            } else if (best.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(best);
+        List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new Result(matches.cardinality(), List.copyOf(page));
+    }
+
+    // Sum over the query tokens of the best matching term: field weight, full if the term was typed completely,
+    // and scaled down towards half for a short prefix of a long term
+    private double score(int ordinal, Set<String> queryTokens) {
+        double score = 0;
+        for (String token : queryTokens) {
+            double tokenScore = 0;
+            for (int i = starts[ordinal]; i < starts[ordinal + 1]; i++) {
+                String term = forwardTerms.get(i).text;
+                if (term.startsWith(token)) {
+                    double completeness = 0.5 + 0.5 * token.length() / term.length();
+                    tokenScore = Math.max(tokenScore, forwardFields.get(i).weight * completeness);
+                }
+            }
+            score += tokenScore;
+        }
+        return score;
+    }
+
+    // Lower-cased runs of letters and digits; everything else separates tokens
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean alphanumeric = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (alphanumeric && start < 0) {
+                start = i;
+            } else if (!alphanumeric && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
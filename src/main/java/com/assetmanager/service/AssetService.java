@@ -1,42 +1,65 @@
 package com.assetmanager.service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
+import com.assetmanager.config.RetryConfig;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
 import com.assetmanager.exception.DeviceNotFoundException;
 import com.assetmanager.exception.UserNotFoundException;
+import com.assetmanager.metrics.AssetMetrics;
 import com.assetmanager.model.Device;
 import com.assetmanager.model.User;
 import com.assetmanager.model.DeviceStatus;
 import com.assetmanager.repository.DeviceRepository;
 import com.assetmanager.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 
 @Service
+@Timed(value = "asset.service", histogram = true) // One timer per public method (tags: class, method, exception)
 public class AssetService {
     // We depend on the Interface, not the implementation
     private final DeviceRepository repository;
     private final UserRepository userRepository;
+    private final DeviceIndexService deviceIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssetMetrics metrics;
 
     // Constructor Injection
-    public AssetService(DeviceRepository repository, UserRepository userRepository) {
+    public AssetService(DeviceRepository repository, UserRepository userRepository,
+                        DeviceIndexService deviceIndex, ApplicationEventPublisher eventPublisher, AssetMetrics metrics) {
         this.repository = repository;
         this.userRepository = userRepository;
+        this.deviceIndex = deviceIndex;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
     }
 
     private Optional<Device> findDeviceById(String deviceId) {
         return repository.findById(deviceId);
     }
 
-    public void registerNewDevice(Device device) {
+    // State-changing methods return the updated device from their own unit of work, so callers never re-read it
+    @Transactional
+    public Device registerNewDevice(Device device) {
         // Business Rule: IDs must be unique (simplified check)
         if (repository.existsById(device.getDeviceId())) {
             throw new IllegalArgumentException("Device ID already exists: " + device.getDeviceId());
         }
-        repository.save(device);
+        Device savedDevice = repository.save(device);
+        eventPublisher.publishEvent(DeviceChangeEvent.of(DeviceChange.registered(device)));
+        return savedDevice;
     }
 
     public Device getCreatedDevice(String deviceId) {
@@ -45,6 +68,10 @@ public class AssetService {
     }
 
     public List<Device> findByStatusAndBrand(DeviceStatus status, String brand) {
+        // Resolve IDs in memory and fetch them by primary key when the secondary index is available
+        if (deviceIndex.isReady() && (status != null || (brand != null && !brand.isBlank()))) {
+            return repository.findAllByDeviceIds(deviceIndex.findIds(status, brand));
+        }
         if (status != null && (brand != null && !brand.isBlank())) {
             return repository.findByStatusAndBrandIgnoreCase(status, brand);
         } else if (status != null) {
@@ -61,9 +88,8 @@ public class AssetService {
 
     public List<Device> findDevicesByUserId(String employeeId) {
         if (employeeId != null && !employeeId.isBlank()) {
-            return findUserByEmployeeId(employeeId).stream()
-                    .flatMap(user -> repository.findByUser(user).stream())
-                    .toList();
+            // One join-fetch query instead of a user lookup plus one device query per matching user
+            return repository.findByOwnerEmployeeId(employeeId);
         }
         return repository.findAll();
     }
@@ -73,28 +99,38 @@ public class AssetService {
     }
 
     public List<Device> getAllAvailableDevices() {
-        return repository.findByStatus(DeviceStatus.AVAILABLE);
+        return findAllWithStatus(DeviceStatus.AVAILABLE);
     }
 
     public List<Device> getAllOnMaintenanceDevices() {
-        return repository.findByStatus(DeviceStatus.UNDER_REPAIR);
+        return findAllWithStatus(DeviceStatus.UNDER_REPAIR);
     }
 
     public List<Device> getAllRentedDevices() {
-        return repository.findByStatus(DeviceStatus.IN_USE);
+        return findAllWithStatus(DeviceStatus.IN_USE);
     }
 
     public List<Device> getAllDecommissionedDevices() {
-        return repository.findByStatus(DeviceStatus.DECOMMISSIONED);
+        return findAllWithStatus(DeviceStatus.DECOMMISSIONED);
+    }
+
+    private List<Device> findAllWithStatus(DeviceStatus status) {
+        if (deviceIndex.isReady()) {
+            return repository.findAllByDeviceIds(deviceIndex.findIds(status, null));
+        }
+        return repository.findByStatus(status);
     }
 
+    // Not retried: a rent that loses the race is reported as a conflict instead of being replayed for another user
     @Transactional
-    public void rentDevice(String deviceId, int userId) {
+    public Device rentDevice(String deviceId, int userId) {
         // 1. Find the user
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
 
         // 2. Find the device
         Device device = getCreatedDevice(deviceId);
+        DeviceStatus previousStatus = device.getStatus();
+        Integer previousOwnerId = DeviceChange.ownerIdOf(device);
 
         // 3. Business Logic: The "rent" method inside Device handles the status check and state transition
         device.rent();
@@ -105,50 +141,74 @@ public class AssetService {
         // 4. Persist the change
         repository.save(device);
         userRepository.save(user);
-        System.out.println("Device rented successfully: " + deviceId);
+        publishChange(DeviceTransition.RENT, device, previousStatus, previousOwnerId, null);
+        return device;
     }
 
-    public void returnDevice(String deviceId) {
+    @Retryable(interceptor = RetryConfig.TRANSITION_RETRY_INTERCEPTOR)
+    @Transactional
+    public Device returnDevice(String deviceId) {
         Device device = getCreatedDevice(deviceId);
+        DeviceStatus previousStatus = device.getStatus();
+        Integer previousOwnerId = DeviceChange.ownerIdOf(device);
 
         device.returnToInventory();
 
         repository.save(device);
-        System.out.println("Device returned successfully: " + deviceId);
+        publishChange(DeviceTransition.RETURN, device, previousStatus, previousOwnerId, null);
+        return device;
     }
 
-    public void moveDeviceToMaintenance(String deviceId, String reason) {
+    @Retryable(interceptor = RetryConfig.TRANSITION_RETRY_INTERCEPTOR)
+    @Transactional
+    public Device moveDeviceToMaintenance(String deviceId, String reason) {
 
         Device device = getCreatedDevice(deviceId);
+        DeviceStatus previousStatus = device.getStatus();
+        Integer previousOwnerId = DeviceChange.ownerIdOf(device);
 
         device.sendToMaintenance(reason);
 
         repository.save(device);
-        System.out.println("Device moved to maintenance: " + deviceId + " Reason: " + reason);
+        publishChange(DeviceTransition.MAINTENANCE, device, previousStatus, previousOwnerId, reason);
+        return device;
     }
 
-    public void completeDeviceRepair(String deviceId) {
+    @Retryable(interceptor = RetryConfig.TRANSITION_RETRY_INTERCEPTOR)
+    @Transactional
+    public Device completeDeviceRepair(String deviceId) {
         Device device = getCreatedDevice(deviceId);
+        DeviceStatus previousStatus = device.getStatus();
+        Integer previousOwnerId = DeviceChange.ownerIdOf(device);
 
         device.repairCompleted();
 
         repository.save(device);
-        System.out.println("Device repair completed: " + deviceId);
+        publishChange(DeviceTransition.REPAIR, device, previousStatus, previousOwnerId, null);
+        return device;
     }
 
-    public void decommissionDevice(String deviceId) {
+    @Retryable(interceptor = RetryConfig.TRANSITION_RETRY_INTERCEPTOR)
+    @Transactional
+    public Device decommissionDevice(String deviceId) {
         Device device = getCreatedDevice(deviceId);
+        DeviceStatus previousStatus = device.getStatus();
+        Integer previousOwnerId = DeviceChange.ownerIdOf(device);
 
         device.decommission();
 
         repository.save(device);
-        System.out.println("Device decommissioned: " + deviceId);
+        publishChange(DeviceTransition.DECOMMISSION, device, previousStatus, previousOwnerId, null);
+        return device;
     }
 
+    // Not retried: the caller decides whether a transfer still makes sense after a concurrent change
     @Transactional
-    public void transferDevice(String deviceId, String employeeId) {
+    public Device transferDevice(String deviceId, String employeeId) {
         // 1. Check that device exists
         Device device = getCreatedDevice(deviceId);
+        DeviceStatus previousStatus = device.getStatus();
+        Integer previousOwnerId = DeviceChange.ownerIdOf(device);
 
         // 2. Check that user exists
         List<User> users = userRepository.findByEmployeeIdIgnoreCase(employeeId);
@@ -163,11 +223,20 @@ public class AssetService {
         // 4. Persist the changes
         repository.save(device);
         userRepository.save(targetUser);
-        System.out.println("Device transfered " + deviceId + " to: " + targetUser.getEmployeeId());
+        publishChange(DeviceTransition.TRANSFER, device, previousStatus, previousOwnerId, null);
+        return device;
     }
 
     @Transactional
     public void registerDevicesBatch(List<Device> devices) {
+        metrics.recordBatchSize("register", devices.size());
+        // Resolve all existing IDs up front (one IN-list query per chunk instead of one existsById per device)
+        Set<String> existingIds = repository.findExistingDeviceIds(devices.stream()
+                .filter(Objects::nonNull)
+                .map(Device::getDeviceId)
+                .toList());
+        Set<String> batchIds = new HashSet<>();
+
         // Validate all devices before saving any (all-or-nothing approach)
         for (int i = 0; i < devices.size(); i++) {
             Device device = devices.get(i);
@@ -180,18 +249,29 @@ public class AssetService {
             }
             
             // Check if device ID already exists
-            if (repository.existsById(device.getDeviceId())) {
+            if (existingIds.contains(device.getDeviceId())) {
                 throw new IllegalArgumentException(
                     "Batch processing failed at index " + i + ": Device ID already exists: " + device.getDeviceId()
                 );
             }
+
+            // Check if device ID appears more than once in the same request
+            if (!batchIds.add(device.getDeviceId())) {
+                throw new IllegalArgumentException(
+                    "Batch processing failed at index " + i + ": Device ID is duplicated in the batch: " + device.getDeviceId()
+                );
+            }
         }
         
-        // If all validations pass, save all devices
-        for (Device device : devices) {
-            repository.save(device);
-        }
-        
-        System.out.println("Batch processing completed successfully. " + devices.size() + " devices registered.");
+        // If all validations pass, insert all devices through JDBC batching
+        repository.insertAll(devices);
+        eventPublisher.publishEvent(DeviceChangeEvent.registered(devices));
+    }
+
+    // Listeners (e.g. the secondary index) only see the change once the surrounding transaction commits
+    private void publishChange(DeviceTransition transition, Device device, DeviceStatus previousStatus,
+                               Integer previousOwnerId, String detail) {
+        eventPublisher.publishEvent(DeviceChangeEvent.of(
+                DeviceChange.of(transition, device, previousStatus, previousOwnerId, detail)));
     }
 }
\ No newline at end of file
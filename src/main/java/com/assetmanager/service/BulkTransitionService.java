@@ -0,0 +1,166 @@
+package com.assetmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.dto.BulkMode;
+import com.assetmanager.dto.BulkOperation;
+import com.assetmanager.dto.BulkTransitionReport;
+import com.assetmanager.dto.BulkTransitionRequest;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.exception.DeviceNotFoundException;
+import com.assetmanager.exception.InvalidDeviceStateException;
+import com.assetmanager.exception.UserNotFoundException;
+import com.assetmanager.metrics.AssetMetrics;
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.User;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.repository.UserRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed(value = "asset.service", histogram = true)
+public class BulkTransitionService {
+    private static final Logger log = LoggerFactory.getLogger(BulkTransitionService.class);
+
+    private final DeviceRepository repository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssetMetrics metrics;
+    private final int maxDevices;
+
+    public BulkTransitionService(DeviceRepository repository, UserRepository userRepository,
+                                 TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                                 AssetMetrics metrics, @Value("${asset.bulk.max-devices:10000}") int maxDevices) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.maxDevices = maxDevices;
+    }
+
+    // Applies one operation to many devices in a single transaction: the devices are loaded with IN-list queries,
+    // transitioned in memory through the Device state machine, and written by one flush of batched UPDATEs
+    public BulkTransitionReport applyTransition(BulkTransitionRequest request, BulkMode mode) {
+        metrics.recordBatchSize("bulk-" + request.getOperation().name().toLowerCase(Locale.ROOT),
+                request.getDeviceIds().size());
+        return applyChunk(request, mode);
+    }
+
+    // applyTransition without the batch size metric, for callers that split a larger batch they already recorded
+    // (asynchronous jobs)
+    public BulkTransitionReport applyChunk(BulkTransitionRequest request, BulkMode mode) {
+        List<String> deviceIds = request.getDeviceIds();
+        if (deviceIds.size() > maxDevices) {
+            throw new IllegalArgumentException("A bulk request can contain at most " + maxDevices + " devices");
+        }
+        if (request.getOperation() == BulkOperation.RENT && request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is mandatory for the RENT operation");
+        }
+
+        BulkTransitionReport report = new BulkTransitionReport(request.getOperation(), mode);
+        Boolean committed = transactionTemplate.execute(status -> {
+            List<DeviceChange> changes = applyAll(request, report);
+            if (mode == BulkMode.ATOMIC && report.hasFailures()) {
+                status.setRollbackOnly();
+                return false;
+            }
+            if (!changes.isEmpty()) {
+                eventPublisher.publishEvent(new DeviceChangeEvent(changes));
+            }
+            return true;
+        });
+        report.markCommitted(Boolean.TRUE.equals(committed));
+        // The applied transitions themselves are logged by DeviceChangeLogger after the commit
+        log.debug("Bulk {} ({}): {} devices updated, {} failed",
+                request.getOperation(), mode, report.getSucceeded(), report.getFailed());
+        return report;
+    }
+
+    private List<DeviceChange> applyAll(BulkTransitionRequest request, BulkTransitionReport report) {
+        User user = null;
+        if (request.getOperation() == BulkOperation.RENT) {
+            int userId = request.getUserId();
+            user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        }
+
+        Map<String, Device> devicesById = repository.findAllByDeviceIds(new LinkedHashSet<>(request.getDeviceIds()))
+                .stream()
+                .collect(Collectors.toMap(Device::getDeviceId, Function.identity()));
+
+        List<DeviceChange> changes = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        // Outcomes are reported in request order
+        for (String deviceId : request.getDeviceIds()) {
+            if (!seen.add(deviceId)) {
+                report.failed(deviceId, null, "Device ID is duplicated in the request: " + deviceId);
+                continue;
+            }
+            Device device = devicesById.get(deviceId);
+            if (device == null) {
+                report.failed(deviceId, null, new DeviceNotFoundException(deviceId).getMessage());
+                continue;
+            }
+
+            DeviceStatus previousStatus = device.getStatus();
+            Integer previousOwnerId = DeviceChange.ownerIdOf(device);
+            try {
+                DeviceTransition transition = apply(request, device, user);
+                changes.add(DeviceChange.of(transition, device, previousStatus, previousOwnerId,
+                        transition == DeviceTransition.MAINTENANCE ? request.getReason() : null));
+                report.applied(deviceId, device.getStatus());
+            } catch (InvalidDeviceStateException ex) {
+                // The state methods validate before they change anything, so a rejected device is left untouched
+                report.failed(deviceId, previousStatus, ex.getMessage());
+            }
+        }
+        return changes;
+    }
+
+    private DeviceTransition apply(BulkTransitionRequest request, Device device, User user) {
+        switch (request.getOperation()) {
+            case RENT -> {
+                device.rent();
+                device.setOwner(user);
+                return DeviceTransition.RENT;
+            }
+            case RETURN -> {
+                device.returnToInventory();
+                return DeviceTransition.RETURN;
+            }
+            case MAINTENANCE -> {
+                device.sendToMaintenance(request.getReason());
+                return DeviceTransition.MAINTENANCE;
+            }
+            case REPAIR -> {
+                device.repairCompleted();
+                return DeviceTransition.REPAIR;
+            }
+            case DECOMMISSION -> {
+                device.decommission();
+                return DeviceTransition.DECOMMISSION;
+            }
+            default -> throw new IllegalArgumentException("Unsupported bulk operation: " + request.getOperation());
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.assetmanager.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.dto.ImportMode;
+import com.assetmanager.dto.ImportReport;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.metrics.AssetMetrics;
+import com.assetmanager.model.Device;
+import com.assetmanager.repository.DeviceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+@Timed(value = "asset.service", histogram = true)
+public class DeviceImportService {
+    private final DeviceRepository repository;
+    private final ObjectReader deviceReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssetMetrics metrics;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxLineLength;
+
+    public DeviceImportService(DeviceRepository repository, ObjectMapper objectMapper, Validator validator,
+                               TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                               AssetMetrics metrics,
+                               @Value("${asset.import.chunk-size:500}") int chunkSize,
+                               @Value("${asset.import.max-reported-errors:1000}") int maxReportedErrors,
+                               @Value("${asset.import.max-line-length:65536}") int maxLineLength) {
+        this.repository = repository;
+        // Same "type"-discriminated polymorphism as the JSON endpoints
+        this.deviceReader = objectMapper.readerFor(Device.class);
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    // Imports newline-delimited JSON devices; only one chunk of parsed devices is held in memory at a time
+    public ImportReport importDevices(InputStream input, ImportMode mode) throws IOException {
+        ImportReport report = new ImportReport(mode, maxReportedErrors);
+        LineReader reader = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxLineLength);
+
+        try {
+            if (mode == ImportMode.ATOMIC) {
+                // One transaction for the whole stream; chunks are still flushed and cleared as they fill up.
+                // After the first error the remaining lines are only validated, then everything is rolled back.
+                Boolean committed = transactionTemplate.execute(status -> {
+                    readChunks(reader, report, chunk -> flushChunk(chunk, report, !report.hasErrors()));
+                    if (report.hasErrors()) {
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    return true;
+                });
+                report.markCommitted(Boolean.TRUE.equals(committed));
+            } else {
+                // Every chunk commits on its own, so a failure only affects the lines of that chunk
+                readChunks(reader, report, chunk -> commitChunk(chunk, report));
+                report.markCommitted(true);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        metrics.recordBatchSize("import", report.getLinesRead());
+        return report;
+    }
+
+    private void readChunks(LineReader reader, ImportReport report, Consumer<List<PendingDevice>> flusher) {
+        List<PendingDevice> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+            if (reader.tooLong()) {
+                report.lineRead();
+                report.reject(lineNumber, null, "Line is longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            report.lineRead();
+
+            Device device = parseAndValidate(line, lineNumber, report);
+            if (device != null) {
+                chunk.add(new PendingDevice(lineNumber, device));
+                if (chunk.size() == chunkSize) {
+                    flusher.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flusher.accept(chunk);
+        }
+    }
+
+    private Device parseAndValidate(String line, long lineNumber, ImportReport report) {
+        Device device;
+        try {
+            device = deviceReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            report.reject(lineNumber, null, "Malformed device record: " + e.getOriginalMessage());
+            return null;
+        }
+
+        if (device == null) {
+            report.reject(lineNumber, null, "Device cannot be null");
+            return null;
+        }
+
+        Set<ConstraintViolation<Device>> violations = validator.validate(device);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            report.reject(lineNumber, device.getDeviceId(), message);
+            return null;
+        }
+        return device;
+    }
+
+    private void commitChunk(List<PendingDevice> chunk, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> flushChunk(chunk, report, true));
+        } catch (DataAccessException e) {
+            for (PendingDevice pending : chunk) {
+                report.reject(pending.line(), pending.device().getDeviceId(), "Chunk could not be stored: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void flushChunk(List<PendingDevice> chunk, ImportReport report, boolean insert) {
+        // Earlier chunks are already flushed, so this also catches IDs repeated across chunks
+        Set<String> existingIds = repository.findExistingDeviceIds(chunk.stream()
+                .map(pending -> pending.device().getDeviceId())
+                .toList());
+        Set<String> chunkIds = new HashSet<>();
+        List<Device> accepted = new ArrayList<>(chunk.size());
+
+        for (PendingDevice pending : chunk) {
+            String deviceId = pending.device().getDeviceId();
+            if (existingIds.contains(deviceId)) {
+                report.reject(pending.line(), deviceId, "Device ID already exists: " + deviceId);
+            } else if (!chunkIds.add(deviceId)) {
+                report.reject(pending.line(), deviceId, "Device ID is duplicated in the import: " + deviceId);
+            } else {
+                accepted.add(pending.device());
+            }
+        }
+
+        if (insert && !accepted.isEmpty()) {
+            repository.insertAll(accepted);
+            eventPublisher.publishEvent(DeviceChangeEvent.registered(accepted));
+            report.imported(accepted.size());
+        }
+    }
+
+    private static String readLine(LineReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record PendingDevice(long line, Device device) {}
+
+    // Splits the stream on '\n' (a trailing '\r' is dropped) and keeps at most maxLength characters of a line: the
+    // rest of a longer line is read and discarded, so one unterminated line cannot grow the heap without bound
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        // null at the end of the stream; an empty string for a line that is too long
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    int read = reader.read(buffer, 0, buffer.length);
+                    if (read < 0) {
+                        return started ? finish() : null;
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++; // the '\n'
+                    return finish();
+                }
+            }
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+
+        // One character beyond the limit is kept for a '\r' before the '\n'
+        private void append(int from, int to) {
+            int room = maxLength + 1 - line.length();
+            if (to - from > room) {
+                tooLong = true;
+                to = from + room;
+            }
+            line.append(buffer, from, to - from);
+        }
+
+        private String finish() {
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (tooLong || line.length() > maxLength) {
+                tooLong = true;
+                return "";
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.assetmanager.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.LookupKey;
+import com.assetmanager.repository.DeviceKeyView;
+import com.assetmanager.repository.DeviceRepository;
+
+// Optional in-process secondary index: DeviceStatus -> device IDs and normalized brand -> device IDs.
+// Built from the database at startup and then kept current from committed DeviceChangeEvents.
+@Service
+public class DeviceIndexService {
+    private final DeviceRepository repository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Every device gets a dense ordinal, so each per-key set is a BitSet (one bit per device) rather than a set of strings
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> deviceIds = new ArrayList<>();
+    private final List<DeviceStatus> statuses = new ArrayList<>();
+    private final List<String> brandKeys = new ArrayList<>();
+    private final Map<DeviceStatus, BitSet> idsByStatus = new EnumMap<>(DeviceStatus.class);
+    private final Map<String, BitSet> idsByBrand = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public DeviceIndexService(DeviceRepository repository, @Value("${asset.index.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    // Callers fall back to the repository until the index has been built
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ordinals.clear();
+            deviceIds.clear();
+            statuses.clear();
+            brandKeys.clear();
+            idsByStatus.clear();
+            idsByBrand.clear();
+
+            for (DeviceKeyView key : repository.findAllKeys()) {
+                put(key.getDeviceId(), key.getStatus(), key.getBrand());
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (DeviceChange change : event.getChanges()) {
+                put(change.getDeviceId(), change.getStatus(), change.getBrand());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // IDs matching the filters (null status / blank brand means "any"); at least one filter is required
+    public List<String> findIds(DeviceStatus status, String brand) {
+        boolean hasBrand = brand != null && !brand.isBlank();
+        if (status == null && !hasBrand) {
+            throw new IllegalArgumentException("At least one filter is required for an index lookup");
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            if (status != null) {
+                matches = copyOf(idsByStatus.get(status));
+            }
+            if (hasBrand) {
+                BitSet brandMatches = idsByBrand.get(normalize(brand));
+                if (matches == null) {
+                    matches = copyOf(brandMatches);
+                } else if (brandMatches == null) {
+                    matches.clear();
+                } else {
+                    matches.and(brandMatches);
+                }
+            }
+
+            List<String> ids = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                ids.add(deviceIds.get(ordinal));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called with the write lock held
+    private void put(String deviceId, DeviceStatus status, String brand) {
+        Integer ordinal = ordinals.get(deviceId);
+        if (ordinal == null) {
+            ordinal = deviceIds.size();
+            ordinals.put(deviceId, ordinal);
+            deviceIds.add(deviceId);
+            statuses.add(null);
+            brandKeys.add(null);
+        }
+
+        DeviceStatus previousStatus = statuses.get(ordinal);
+        if (previousStatus != status) {
+            if (previousStatus != null) {
+                idsByStatus.get(previousStatus).clear(ordinal);
+            }
+            idsByStatus.computeIfAbsent(status, key -> new BitSet()).set(ordinal);
+            statuses.set(ordinal, status);
+        }
+
+        String brandKey = normalize(brand);
+        String previousBrandKey = brandKeys.get(ordinal);
+        if (!Objects.equals(previousBrandKey, brandKey)) {
+            if (previousBrandKey != null) {
+                idsByBrand.get(previousBrandKey).clear(ordinal);
+            }
+            if (brandKey != null) {
+                idsByBrand.computeIfAbsent(brandKey, key -> new BitSet()).set(ordinal);
+            }
+            brandKeys.set(ordinal, brandKey);
+        }
+    }
+
+    // Same matching rule as the repository's brand_key lookups
+    private static String normalize(String brand) {
+        return LookupKey.normalize(brand);
+    }
+
+    private static BitSet copyOf(BitSet bits) {
+        return bits == null ? new BitSet() : (BitSet) bits.clone();
+    }
+}
@@ -0,0 +1,58 @@
+package com.assetmanager.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.dto.DevicePage;
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.repository.DeviceRepository;
+
+@Service
+public class DevicePageService {
+    // Lower than any real ID (IDs are at least 3 characters), so the first page uses the same range query
+    private static final String BEFORE_FIRST_ID = "";
+
+    private final DeviceRepository repository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public DevicePageService(DeviceRepository repository,
+                             @Value("${asset.pagination.default-page-size:50}") int defaultPageSize,
+                             @Value("${asset.pagination.max-page-size:500}") int maxPageSize) {
+        this.repository = repository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public DevicePage findPage(DeviceStatus status, String brand, String cursor, Integer limit) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        // The server caps the page size whatever the client asks for
+        int pageSize = Math.min(limit == null ? defaultPageSize : limit, maxPageSize);
+        String afterDeviceId = (cursor == null || cursor.isBlank()) ? BEFORE_FIRST_ID : PageCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<Device> rows = findAfter(status, brand, afterDeviceId, Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new DevicePage(rows, null);
+        }
+        List<Device> page = rows.subList(0, pageSize);
+        return new DevicePage(page, PageCursor.encode(page.get(pageSize - 1).getDeviceId()));
+    }
+
+    private List<Device> findAfter(DeviceStatus status, String brand, String afterDeviceId, Limit limit) {
+        if (status != null && (brand != null && !brand.isBlank())) {
+            return repository.findByStatusAndBrandIgnoreCaseAndDeviceIdGreaterThanOrderByDeviceIdAsc(status, brand, afterDeviceId, limit);
+        } else if (status != null) {
+            return repository.findByStatusAndDeviceIdGreaterThanOrderByDeviceIdAsc(status, afterDeviceId, limit);
+        } else if (brand != null && !brand.isBlank()) {
+            return repository.findByBrandIgnoreCaseAndDeviceIdGreaterThanOrderByDeviceIdAsc(brand, afterDeviceId, limit);
+        }
+        return repository.findByDeviceIdGreaterThanOrderByDeviceIdAsc(afterDeviceId, limit);
+    }
+}
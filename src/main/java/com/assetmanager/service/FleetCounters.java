@@ -0,0 +1,311 @@
+package com.assetmanager.service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.LookupKey;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.repository.FleetCountView;
+import com.assetmanager.repository.GroupCountView;
+import com.assetmanager.repository.LaptopStatsView;
+
+import jakarta.annotation.PreDestroy;
+
+// Device counts per status, brand, owner, operating system and type (plus the laptops' total RAM), kept in memory so
+// statistics reads are O(1) and never query the database. Built from GROUP BY queries at startup, then updated from
+// committed DeviceChangeEvents.
+//
+// Counts are LongAdders, so concurrent transitions on different devices do not contend on a shared counter.
+// A transaction that publishes changes holds the read lock from just before its commit until its after-commit
+// update is applied (any number at once). A rebuild takes the write lock around its GROUP BY queries, so every commit
+// is either fully applied before the queries (and counted by them) or waits until the fresh counts are in place (and is
+// applied to them): nothing is lost or counted twice. Writes that bypass the services (snapshot restore, SQL console,
+// repository deletes) are caught by a periodic drift check against the database.
+@Service
+public class FleetCounters implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(FleetCounters.class);
+    // Key used for devices registered without an operating system
+    static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private final DeviceRepository repository;
+    private final TransactionTemplate readTransaction;
+    private final long driftCheckMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger consecutiveDrifts = new AtomicInteger();
+    private volatile Counts counts = new Counts();
+    private ScheduledExecutorService driftChecker;
+
+    private static final class Counts {
+        final Map<DeviceStatus, LongAdder> byStatus = new EnumMap<>(DeviceStatus.class);
+        final Map<String, LongAdder> byBrand = new ConcurrentHashMap<>(); // keyed by the normalized brand
+        final Map<String, String> brandNames = new ConcurrentHashMap<>(); // normalized brand -> display name
+        final Map<Integer, LongAdder> byOwner = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byOperatingSystem = new ConcurrentHashMap<>();
+        final LongAdder laptops = new LongAdder();
+        final LongAdder phones = new LongAdder();
+        final LongAdder laptopRamGb = new LongAdder();
+
+        Counts() {
+            for (DeviceStatus status : DeviceStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+    }
+
+    public FleetCounters(DeviceRepository repository, PlatformTransactionManager transactionManager,
+                         @Value("${asset.counters.drift-check-ms:30000}") long driftCheckMillis) {
+        this.repository = repository;
+        // The connection is taken when the transaction begins, before the write lock: committers waiting at the
+        // fence hold connections, and the rebuild must not wait for one of theirs
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.driftCheckMillis = driftCheckMillis;
+    }
+
+    // Built before the web server starts, so the first statistics request already has counts
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+        if (driftCheckMillis > 0) {
+            driftChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fleet-counters-drift-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            driftChecker.scheduleWithFixedDelay(this::checkDrift, driftCheckMillis, driftCheckMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (driftChecker != null) {
+            driftChecker.shutdownNow();
+        }
+    }
+
+    public void rebuild() {
+        readTransaction.executeWithoutResult(status -> {
+            lock.writeLock().lock();
+            try {
+                counts = load();
+                consecutiveDrifts.set(0);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private Counts load() {
+        Counts fresh = new Counts();
+        for (FleetCountView group : repository.countByStatusBrandAndOwner()) {
+            fresh.byStatus.get(group.getStatus()).add(group.getCount());
+            fresh.byBrand.computeIfAbsent(group.getBrandKey(), key -> new LongAdder()).add(group.getCount());
+            fresh.brandNames.putIfAbsent(group.getBrandKey(), group.getBrand());
+            if (group.getOwnerId() != null) {
+                fresh.byOwner.computeIfAbsent(group.getOwnerId(), key -> new LongAdder()).add(group.getCount());
+            }
+        }
+        for (GroupCountView group : repository.countByOperatingSystem()) {
+            fresh.byOperatingSystem.computeIfAbsent(operatingSystemKey(group.getValue()), key -> new LongAdder())
+                    .add(group.getCount());
+        }
+        LaptopStatsView laptops = repository.laptopStats();
+        fresh.laptops.add(laptops.getCount());
+        fresh.laptopRamGb.add(laptops.getTotalRamGb());
+        fresh.phones.add(repository.countPhones());
+        return fresh;
+    }
+
+    // Just before a transaction with device changes commits: takes the read lock once per transaction and keeps it
+    // until the transaction has completed, i.e. after onDeviceChange has applied its changes
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void fenceCommit(DeviceChangeEvent event) {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        lock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Registered after the after-commit listeners, so it also completes after them
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FleetCounters.this);
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        lock.readLock().lock();
+        try {
+            Counts current = counts;
+            for (DeviceChange change : event.getChanges()) {
+                apply(current, change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Counts current, DeviceChange change) {
+        if (change.getPreviousStatus() != change.getStatus()) {
+            if (change.getPreviousStatus() != null) {
+                current.byStatus.get(change.getPreviousStatus()).decrement();
+            }
+            current.byStatus.get(change.getStatus()).increment();
+        }
+        // Brand, type, operating system and RAM never change after registration
+        if (change.getPreviousStatus() == null) {
+            String brandKey = LookupKey.normalize(change.getBrand());
+            current.byBrand.computeIfAbsent(brandKey, key -> new LongAdder()).increment();
+            current.brandNames.putIfAbsent(brandKey, change.getBrand());
+            DeviceChange.Profile profile = change.getProfile();
+            if (profile != null) {
+                current.byOperatingSystem.computeIfAbsent(operatingSystemKey(profile.operatingSystem()),
+                        key -> new LongAdder()).increment();
+                if (DeviceChange.Profile.LAPTOP.equals(profile.type())) {
+                    current.laptops.increment();
+                    current.laptopRamGb.add(profile.ramSizeGb());
+                } else {
+                    current.phones.increment();
+                }
+            }
+        }
+        if (change.getPreviousOwnerId() != null && !change.getPreviousOwnerId().equals(change.getOwnerId())) {
+            current.byOwner.computeIfAbsent(change.getPreviousOwnerId(), key -> new LongAdder()).decrement();
+        }
+        if (change.getOwnerId() != null && !change.getOwnerId().equals(change.getPreviousOwnerId())) {
+            current.byOwner.computeIfAbsent(change.getOwnerId(), key -> new LongAdder()).increment();
+        }
+    }
+
+    public long countByStatus(DeviceStatus status) {
+        return counts.byStatus.get(status).sum();
+    }
+
+    public long total() {
+        long total = 0;
+        for (LongAdder count : counts.byStatus.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public Map<DeviceStatus, Long> byStatus() {
+        Map<DeviceStatus, Long> result = new EnumMap<>(DeviceStatus.class);
+        counts.byStatus.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+
+    // Display name -> count, largest first; brands whose devices are all gone are left out
+    public Map<String, Long> byBrand() {
+        Counts current = counts;
+        Map<String, Long> result = new LinkedHashMap<>();
+        current.byBrand.entrySet().stream()
+                .map(entry -> Map.entry(current.brandNames.getOrDefault(entry.getKey(), entry.getKey()), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    // Largest first; UNSPECIFIED for devices without an operating system
+    public Map<String, Long> byOperatingSystem() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.byOperatingSystem.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    public long countLaptops() {
+        return counts.laptops.sum();
+    }
+
+    public long countPhones() {
+        return counts.phones.sum();
+    }
+
+    // null when there are no laptops
+    public Double averageLaptopRamGb() {
+        Counts current = counts;
+        long laptops = current.laptops.sum();
+        return laptops == 0 ? null : (double) current.laptopRamGb.sum() / laptops;
+    }
+
+    public long countByOwner(int userId) {
+        LongAdder count = counts.byOwner.get(userId);
+        return count == null ? 0 : count.sum();
+    }
+
+    // Compares all counts with the database and rebuilds once a difference persists over two
+    // checks. A single mismatch is expected now and then: a transaction may have committed without its
+    // after-commit update having been applied yet.
+    public void checkDrift() {
+        try {
+            Counts expected = load();
+            Counts current = counts;
+            if (totals(expected.byStatus).equals(totals(current.byStatus))
+                    && totals(expected.byBrand).equals(totals(current.byBrand))
+                    && totals(expected.byOwner).equals(totals(current.byOwner))
+                    && totals(expected.byOperatingSystem).equals(totals(current.byOperatingSystem))
+                    && expected.laptops.sum() == current.laptops.sum()
+                    && expected.phones.sum() == current.phones.sum()
+                    && expected.laptopRamGb.sum() == current.laptopRamGb.sum()) {
+                consecutiveDrifts.set(0);
+                return;
+            }
+            if (consecutiveDrifts.incrementAndGet() >= 2) {
+                log.warn("Fleet counters drifted from the database (statuses: counters {}, database {}); rebuilding",
+                        totals(current.byStatus), totals(expected.byStatus));
+                rebuild();
+            }
+        } catch (RuntimeException ex) {
+            // Keep the schedule alive; the next check retries
+            log.warn("Fleet counter drift check failed", ex);
+        }
+    }
+
+    private static String operatingSystemKey(String operatingSystem) {
+        return operatingSystem == null ? UNSPECIFIED : operatingSystem;
+    }
+
+    // Non-zero counts only: a brand or owner whose devices are all gone has a 0 counter here but no database row
+    private static <K> Map<K, Long> totals(Map<K, LongAdder> counters) {
+        Map<K, Long> totals = new HashMap<>();
+        counters.forEach((key, count) -> {
+            long sum = count.sum();
+            if (sum != 0) {
+                totals.put(key, sum);
+            }
+        });
+        return totals;
+    }
+}
@@ -0,0 +1,43 @@
+package com.assetmanager.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.dto.FleetStatistics;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.model.DeviceStatus;
+
+import io.micrometer.core.annotation.Timed;
+
+// Dashboard aggregates, all answered from the in-memory FleetCounters: a read never queries the database
+@Service
+@Timed(value = "asset.service", histogram = true)
+public class FleetStatisticsService {
+    private final FleetCounters counters;
+
+    public FleetStatisticsService(FleetCounters counters) {
+        this.counters = counters;
+    }
+
+    public FleetStatistics getStatistics() {
+        // Every status is listed, including those with no devices, so dashboards get a stable shape
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<DeviceStatus, Long> entry : counters.byStatus().entrySet()) {
+            byStatus.put(entry.getKey().name(), entry.getValue());
+            total += entry.getValue();
+        }
+
+        Map<String, Long> byType = new LinkedHashMap<>();
+        byType.put(DeviceChange.Profile.LAPTOP, counters.countLaptops());
+        byType.put(DeviceChange.Profile.PHONE, counters.countPhones());
+
+        return new FleetStatistics(total, byStatus,
+                counters.byBrand(),
+                counters.byOperatingSystem(),
+                byType,
+                counters.averageLaptopRamGb());
+    }
+}
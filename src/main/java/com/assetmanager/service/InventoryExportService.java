@@ -0,0 +1,88 @@
+package com.assetmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.User;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class InventoryExportService {
+    private final DeviceRepository deviceRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int clearInterval;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public InventoryExportService(DeviceRepository deviceRepository, UserRepository userRepository,
+                                  ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                  @Value("${asset.export.clear-interval:500}") int clearInterval) {
+        this.deviceRepository = deviceRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clearInterval = clearInterval;
+    }
+
+    public void writeDevices(OutputStream out) {
+        // writerFor(Device.class) keeps the "type" discriminator on every element
+        export(out, deviceRepository::streamAllForExport, objectMapper.writerFor(Device.class));
+    }
+
+    public void writeUsers(OutputStream out) {
+        export(out, userRepository::streamAllForExport, objectMapper.writerFor(User.class));
+    }
+
+    // Writes one JSON array element per row as it comes off the cursor; nothing is collected into a list
+    private <T> void export(OutputStream out, Supplier<Stream<T>> rows, ObjectWriter writer) {
+        // Flushing after every element would turn each row into its own write on the socket
+        ObjectWriter rowWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+
+                Iterator<T> iterator = stream.iterator();
+                long written = 0;
+                while (iterator.hasNext()) {
+                    T row = iterator.next();
+                    rowWriter.writeValue(generator, row);
+                    entityManager.detach(row);
+
+                    // Drop everything else the persistence context picked up (e.g. joined owners)
+                    if (++written % clearInterval == 0) {
+                        entityManager.clear();
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.assetmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque continuation token: clients pass it back unchanged and must not rely on its content
+public final class PageCursor {
+    private static final String VERSION_PREFIX = "v1:";
+
+    private PageCursor() {}
+
+    public static String encode(String key) {
+        byte[] raw = (VERSION_PREFIX + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static String decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+        if (!raw.startsWith(VERSION_PREFIX)) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+        return raw.substring(VERSION_PREFIX.length());
+    }
+}
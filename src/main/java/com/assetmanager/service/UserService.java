@@ -6,10 +6,15 @@ import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 import com.assetmanager.exception.UserNotFoundException;
+import com.assetmanager.model.Device;
 import com.assetmanager.model.User;
 import com.assetmanager.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+
 @Service
+@Timed(value = "asset.service", histogram = true)
 public class UserService {
     private final UserRepository repository;
 
@@ -21,12 +26,13 @@ public class UserService {
         return repository.findById(userId);
     }
 
-    public void registerNewUser(User user) {
+    @Transactional
+    public User registerNewUser(User user) {
         // Business Rule: IDs must be unique (simplified check)
         if (repository.existsById(user.getUserId())) {
             throw new IllegalArgumentException("User ID already exists: " + user.getUserId());
         }
-        repository.save(user);
+        return repository.save(user);
     }
 
     public User getCreatedUser(int userId) {
@@ -34,6 +40,13 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
     }
 
+    // The user and their devices are read with one statement (see UserRepository.findWithDevicesByUserId)
+    public List<Device> getUserDevices(int userId) {
+        return repository.findWithDevicesByUserId(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId))
+                .getDevices();
+    }
+
     public List<User> findByUsernameAndEmployeeId(String username, String employeeId) {
         if ((username != null && !username.isBlank()) && (employeeId != null && !employeeId.isBlank())) {
             return repository.findByUsernameIgnoreCaseAndEmployeeIdIgnoreCase(username, employeeId);
@@ -0,0 +1,375 @@
+package com.assetmanager.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.assetmanager.model.DeviceStatus;
+
+// Point-in-time copy of all users and devices in a compact columnar file.
+//
+// Every attribute is written as one column over all rows. Brand, model and operating system repeat heavily
+// across a fleet, so they are dictionary-encoded (one varint code per device). Device IDs are unique and
+// written in sorted order with front coding (length of the prefix shared with the previous ID, then the rest).
+// Statuses are one byte per device, indexing a status-name table in the header, so reordering the enum
+// constants cannot corrupt old snapshots. Owners are stored as positions in the user columns.
+// The file ends with a CRC32 of everything before it.
+public class InventorySnapshot {
+    private static final int MAGIC = 0x414D534E; // "AMSN"
+    private static final short FORMAT_VERSION = 1;
+
+    public enum Kind { LAPTOP, PHONE }
+
+    public record UserEntry(int userId, String username, String employeeId) {}
+
+    public record DeviceEntry(String deviceId, Kind kind, String brand, String model, String operatingSystem,
+                              DeviceStatus status, String maintenanceReason, LocalDate decommissionDate,
+                              Long version, Integer ownerId, int ramSizeGb, String phoneNumber) {}
+
+    private final List<UserEntry> users;
+    private final List<DeviceEntry> devices;
+
+    public InventorySnapshot(List<UserEntry> users, List<DeviceEntry> devices) {
+        this.users = users;
+        this.devices = devices;
+    }
+
+    public List<UserEntry> getUsers() {
+        return users;
+    }
+
+    public List<DeviceEntry> getDevices() {
+        return devices;
+    }
+
+    // Written to a temporary file first, so a crash mid-write never replaces the previous snapshot with a torn one
+    public long write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            CRC32 checksum = new CRC32();
+            try (OutputStream raw = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(new CheckedOutputStream(raw, checksum), 1 << 16))) {
+                writeBody(out);
+                out.flush();
+                new DataOutputStream(raw).writeLong(checksum.getValue());
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return Files.size(file);
+    }
+
+    // The checksum is verified before decoding, so a damaged file fails as a whole instead of half-restoring
+    public static InventorySnapshot read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < Long.BYTES) {
+            throw new IOException("Snapshot " + file + " is truncated");
+        }
+        int bodyLength = bytes.length - Long.BYTES;
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, bodyLength);
+        if (ByteBuffer.wrap(bytes, bodyLength, Long.BYTES).getLong() != checksum.getValue()) {
+            throw new IOException("Snapshot " + file + " is corrupt (checksum mismatch)");
+        }
+        return readBody(new DataInputStream(new ByteArrayInputStream(bytes, 0, bodyLength)));
+    }
+
+    private void writeBody(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+
+        DeviceStatus[] statusTable = DeviceStatus.values();
+        out.writeByte(statusTable.length);
+        for (DeviceStatus status : statusTable) {
+            writeString(out, status.name());
+        }
+
+        // Users: one column per attribute
+        Map<Integer, Integer> userPositions = new HashMap<>();
+        writeVarInt(out, users.size());
+        for (int i = 0; i < users.size(); i++) {
+            out.writeInt(users.get(i).userId());
+            userPositions.put(users.get(i).userId(), i);
+        }
+        for (UserEntry user : users) {
+            writeString(out, user.username());
+        }
+        for (UserEntry user : users) {
+            writeString(out, user.employeeId());
+        }
+
+        List<DeviceEntry> sorted = new ArrayList<>(devices);
+        sorted.sort((a, b) -> a.deviceId().compareTo(b.deviceId()));
+        writeVarInt(out, sorted.size());
+
+        String previous = "";
+        for (DeviceEntry device : sorted) {
+            String id = device.deviceId();
+            int shared = commonPrefix(previous, id);
+            writeVarInt(out, shared);
+            writeString(out, id.substring(shared));
+            previous = id;
+        }
+        for (DeviceEntry device : sorted) {
+            out.writeByte(device.kind().ordinal());
+        }
+        writeDictionaryColumn(out, sorted, DeviceEntry::brand);
+        writeDictionaryColumn(out, sorted, DeviceEntry::model);
+        writeDictionaryColumn(out, sorted, DeviceEntry::operatingSystem);
+        for (DeviceEntry device : sorted) {
+            out.writeByte(device.status() == null ? -1 : device.status().ordinal());
+        }
+        for (DeviceEntry device : sorted) {
+            writeVarLong(out, device.version() == null ? 0 : device.version() + 1);
+        }
+        for (DeviceEntry device : sorted) {
+            if (device.ownerId() == null) {
+                writeVarInt(out, 0);
+                continue;
+            }
+            Integer position = userPositions.get(device.ownerId());
+            if (position == null) {
+                throw new IllegalStateException("Device " + device.deviceId() + " is owned by unknown user " + device.ownerId());
+            }
+            writeVarInt(out, position + 1);
+        }
+        for (DeviceEntry device : sorted) {
+            writeString(out, device.maintenanceReason());
+        }
+        for (DeviceEntry device : sorted) {
+            // Zigzag-encoded epoch day + 1, 0 = not decommissioned
+            LocalDate date = device.decommissionDate();
+            writeVarLong(out, date == null ? 0 : zigzag(date.toEpochDay()) + 1);
+        }
+        // Subtype columns only have values for the devices of that kind
+        for (DeviceEntry device : sorted) {
+            if (device.kind() == Kind.LAPTOP) {
+                writeVarInt(out, device.ramSizeGb());
+            }
+        }
+        for (DeviceEntry device : sorted) {
+            if (device.kind() == Kind.PHONE) {
+                writeString(out, device.phoneNumber());
+            }
+        }
+    }
+
+    private static InventorySnapshot readBody(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an inventory snapshot");
+        }
+        short version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + version);
+        }
+
+        DeviceStatus[] statusTable = new DeviceStatus[in.readUnsignedByte()];
+        for (int i = 0; i < statusTable.length; i++) {
+            statusTable[i] = DeviceStatus.valueOf(readString(in));
+        }
+
+        int userCount = readVarInt(in);
+        int[] userIds = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = in.readInt();
+        }
+        String[] usernames = readStrings(in, userCount);
+        String[] employeeIds = readStrings(in, userCount);
+        List<UserEntry> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new UserEntry(userIds[i], usernames[i], employeeIds[i]));
+        }
+
+        int count = readVarInt(in);
+        String[] deviceIds = new String[count];
+        String previous = "";
+        for (int i = 0; i < count; i++) {
+            int shared = readVarInt(in);
+            previous = previous.substring(0, shared) + readString(in);
+            deviceIds[i] = previous;
+        }
+        Kind[] kindTable = Kind.values();
+        Kind[] kinds = new Kind[count];
+        for (int i = 0; i < count; i++) {
+            kinds[i] = kindTable[in.readUnsignedByte()];
+        }
+        String[] brands = readDictionaryColumn(in, count);
+        String[] models = readDictionaryColumn(in, count);
+        String[] operatingSystems = readDictionaryColumn(in, count);
+        DeviceStatus[] statuses = new DeviceStatus[count];
+        for (int i = 0; i < count; i++) {
+            byte code = in.readByte();
+            statuses[i] = code < 0 ? null : statusTable[code];
+        }
+        Long[] versions = new Long[count];
+        for (int i = 0; i < count; i++) {
+            long value = readVarLong(in);
+            versions[i] = value == 0 ? null : value - 1;
+        }
+        Integer[] owners = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            int position = readVarInt(in);
+            owners[i] = position == 0 ? null : userIds[position - 1];
+        }
+        String[] maintenanceReasons = readStrings(in, count);
+        LocalDate[] decommissionDates = new LocalDate[count];
+        for (int i = 0; i < count; i++) {
+            long value = readVarLong(in);
+            decommissionDates[i] = value == 0 ? null : LocalDate.ofEpochDay(unzigzag(value - 1));
+        }
+        int[] ramSizes = new int[count];
+        String[] phoneNumbers = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == Kind.LAPTOP) {
+                ramSizes[i] = readVarInt(in);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == Kind.PHONE) {
+                phoneNumbers[i] = readString(in);
+            }
+        }
+
+        List<DeviceEntry> devices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            devices.add(new DeviceEntry(deviceIds[i], kinds[i], brands[i], models[i], operatingSystems[i], statuses[i],
+                    maintenanceReasons[i], decommissionDates[i], versions[i], owners[i], ramSizes[i], phoneNumbers[i]));
+        }
+        return new InventorySnapshot(users, devices);
+    }
+
+    // Dictionary of the distinct values in first-seen order, then one code per row (0 = null)
+    private static void writeDictionaryColumn(DataOutputStream out, List<DeviceEntry> rows,
+                                              Function<DeviceEntry, String> column) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String value = column.apply(rows.get(i));
+            if (value == null) {
+                continue;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                dictionary.add(value);
+                code = dictionary.size();
+                codes.put(value, code);
+            }
+            rowCodes[i] = code;
+        }
+        writeVarInt(out, dictionary.size());
+        for (String value : dictionary) {
+            writeString(out, value);
+        }
+        for (int code : rowCodes) {
+            writeVarInt(out, code);
+        }
+    }
+
+    private static String[] readDictionaryColumn(DataInputStream in, int count) throws IOException {
+        String[] dictionary = readStrings(in, readVarInt(in));
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int code = readVarInt(in);
+            values[i] = code == 0 ? null : dictionary[code - 1];
+        }
+        return values;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        // Never split a surrogate pair between the prefix and the suffix
+        if (i > 0 && Character.isHighSurrogate(b.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    // Strings are a varint of (UTF-8 length + 1) followed by the bytes; 0 means null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length - 1), StandardCharsets.UTF_8);
+    }
+
+    private static String[] readStrings(DataInputStream in, int count) throws IOException {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(in);
+        }
+        return values;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on every byte but the last
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in snapshot");
+    }
+}
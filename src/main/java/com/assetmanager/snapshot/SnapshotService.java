@@ -0,0 +1,253 @@
+package com.assetmanager.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.dto.SnapshotReport;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.LookupKey;
+import com.assetmanager.search.DeviceSearchService;
+import com.assetmanager.service.DeviceIndexService;
+import com.assetmanager.service.FleetCounters;
+import com.assetmanager.snapshot.InventorySnapshot.DeviceEntry;
+import com.assetmanager.snapshot.InventorySnapshot.Kind;
+import com.assetmanager.snapshot.InventorySnapshot.UserEntry;
+import com.assetmanager.sync.ChangeSequence;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Dumps the inventory to an InventorySnapshot and loads it back into an empty database.
+// Both directions go through plain JDBC: the dump is a column scan, the restore one JDBC-batched insert per
+// table, so neither pays for entity instantiation, dirty checking or per-device events.
+@Service
+public class SnapshotService implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final SessionFactory sessionFactory;
+    private final DeviceIndexService deviceIndex;
+    private final FleetCounters fleetCounters;
+    private final DeviceSearchService searchService;
+    private final ChangeSequence changeSequence;
+    private final Path snapshotFile;
+    private final boolean restoreOnStartup;
+    private final int batchSize;
+    private volatile long restoreMillis = -1;
+
+    public SnapshotService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           EntityManagerFactory entityManagerFactory,
+                           DeviceIndexService deviceIndex,
+                           FleetCounters fleetCounters,
+                           DeviceSearchService searchService,
+                           ChangeSequence changeSequence,
+                           @Value("${asset.snapshot.file:data/snapshot/inventory.snap}") String snapshotFile,
+                           @Value("${asset.snapshot.restore-on-startup:false}") boolean restoreOnStartup,
+                           @Value("${asset.snapshot.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Both scans must see the same state, or a device could reference a user created between them
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.deviceIndex = deviceIndex;
+        this.fleetCounters = fleetCounters;
+        this.searchService = searchService;
+        this.changeSequence = changeSequence;
+        this.snapshotFile = Path.of(snapshotFile);
+        this.restoreOnStartup = restoreOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    // Runs once the schema exists but before the web server starts, so no request can see a half-loaded inventory
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!restoreOnStartup) {
+            return;
+        }
+        if (!Files.exists(snapshotFile)) {
+            log.info("No inventory snapshot at {}; starting with the current database", snapshotFile.toAbsolutePath());
+            return;
+        }
+        if (existingRows() > 0) {
+            // e.g. the persistent profile, whose database already survived the restart
+            log.info("Database already holds an inventory; skipping restore of {}", snapshotFile.toAbsolutePath());
+            return;
+        }
+        restoreMillis = restore().getDurationMs();
+    }
+
+    // Duration of the startup restore in milliseconds, or -1 if nothing was restored
+    public long getRestoreMillis() {
+        return restoreMillis;
+    }
+
+    public SnapshotReport dump() {
+        long started = System.nanoTime();
+        InventorySnapshot snapshot = readTransaction.execute(status -> scan());
+        long sizeBytes;
+        try {
+            sizeBytes = snapshot.write(snapshotFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write inventory snapshot " + snapshotFile, ex);
+        }
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Inventory snapshot written to {} ({} users, {} devices, {} bytes, {} ms)",
+                snapshotFile.toAbsolutePath(), snapshot.getUsers().size(), snapshot.getDevices().size(), sizeBytes, durationMs);
+        return new SnapshotReport(snapshotFile.toAbsolutePath().toString(), snapshot.getUsers().size(),
+                snapshot.getDevices().size(), sizeBytes, durationMs);
+    }
+
+    // Only an empty database is restored; merging a snapshot into live data would silently resurrect old state
+    public SnapshotReport restore() {
+        long started = System.nanoTime();
+        InventorySnapshot snapshot;
+        try {
+            snapshot = InventorySnapshot.read(snapshotFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read inventory snapshot " + snapshotFile, ex);
+        }
+
+        writeTransaction.executeWithoutResult(status -> {
+            if (existingRows() > 0) {
+                throw new IllegalStateException("The inventory snapshot can only be restored into an empty database");
+            }
+            insertUsers(snapshot.getUsers());
+            insertDevices(snapshot.getDevices());
+        });
+        // Rows were written behind Hibernate's back; drop anything cached for them
+        sessionFactory.getCache().evictAllRegions();
+        // At startup the index is built on ApplicationReadyEvent anyway; a restore after that rebuilds it here
+        if (deviceIndex.isReady()) {
+            deviceIndex.rebuild();
+        }
+        fleetCounters.rebuild();
+        searchService.rebuild();
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Inventory snapshot {} restored ({} users, {} devices, {} ms)", snapshotFile.toAbsolutePath(),
+                snapshot.getUsers().size(), snapshot.getDevices().size(), durationMs);
+        long sizeBytes;
+        try {
+            sizeBytes = Files.size(snapshotFile);
+        } catch (IOException ex) {
+            sizeBytes = -1;
+        }
+        return new SnapshotReport(snapshotFile.toAbsolutePath().toString(), snapshot.getUsers().size(),
+                snapshot.getDevices().size(), sizeBytes, durationMs);
+    }
+
+    private long existingRows() {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM device) + (SELECT COUNT(*) FROM users)", Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    private InventorySnapshot scan() {
+        List<UserEntry> users = new ArrayList<>();
+        jdbcTemplate.query("SELECT user_id, username, employee_id FROM users ORDER BY user_id",
+                (RowCallbackHandler) rs -> users.add(new UserEntry(rs.getInt(1), rs.getString(2), rs.getString(3))));
+
+        List<DeviceEntry> devices = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT d.device_id, l.device_id IS NOT NULL, d.brand, d.model, d.operating_system, d.status,
+                       d.maintenance_reason, d.decommission_date, d.version, d.user_id, l.ram_size_gb, p.phone_number
+                FROM device d
+                LEFT JOIN laptops l ON l.device_id = d.device_id
+                LEFT JOIN phones p ON p.device_id = d.device_id
+                ORDER BY d.device_id
+                """,
+                (RowCallbackHandler) rs -> {
+                    String status = rs.getString(6);
+                    Date decommissionDate = rs.getDate(8);
+                    devices.add(new DeviceEntry(
+                            rs.getString(1),
+                            rs.getBoolean(2) ? Kind.LAPTOP : Kind.PHONE,
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getString(5),
+                            status == null ? null : DeviceStatus.valueOf(status),
+                            rs.getString(7),
+                            decommissionDate == null ? null : decommissionDate.toLocalDate(),
+                            rs.getObject(9, Long.class),
+                            rs.getObject(10, Integer.class),
+                            rs.getInt(11),
+                            rs.getString(12)));
+                });
+        return new InventorySnapshot(users, devices);
+    }
+
+    // Restored rows count as changed now: they get fresh change sequence numbers, in insertion order
+    private void insertUsers(List<UserEntry> users) {
+        AtomicLong changeSeq = new AtomicLong(changeSequence.allocate(users.size()));
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (user_id, username, employee_id, username_key, employee_id_key, change_seq)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """,
+                users, batchSize, (ps, user) -> {
+                    ps.setInt(1, user.userId());
+                    ps.setString(2, user.username());
+                    ps.setString(3, user.employeeId());
+                    ps.setString(4, LookupKey.normalize(user.username()));
+                    ps.setString(5, LookupKey.normalize(user.employeeId()));
+                    ps.setLong(6, changeSeq.getAndIncrement());
+                });
+    }
+
+    private void insertDevices(List<DeviceEntry> devices) {
+        AtomicLong changeSeq = new AtomicLong(changeSequence.allocate(devices.size()));
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO device (device_id, brand, brand_key, model, operating_system, status, maintenance_reason,
+                                    decommission_date, version, user_id, change_seq)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                devices, batchSize, (ps, device) -> {
+                    ps.setString(1, device.deviceId());
+                    ps.setString(2, device.brand());
+                    ps.setString(3, LookupKey.normalize(device.brand()));
+                    ps.setString(4, device.model());
+                    ps.setString(5, device.operatingSystem());
+                    ps.setString(6, device.status() == null ? null : device.status().name());
+                    ps.setString(7, device.maintenanceReason());
+                    ps.setObject(8, device.decommissionDate());
+                    ps.setObject(9, device.version());
+                    ps.setObject(10, device.ownerId());
+                    ps.setLong(11, changeSeq.getAndIncrement());
+                });
+
+        List<DeviceEntry> laptops = devices.stream().filter(device -> device.kind() == Kind.LAPTOP).toList();
+        jdbcTemplate.batchUpdate("INSERT INTO laptops (device_id, ram_size_gb) VALUES (?, ?)",
+                laptops, batchSize, (ps, device) -> {
+                    ps.setString(1, device.deviceId());
+                    ps.setInt(2, device.ramSizeGb());
+                });
+
+        List<DeviceEntry> phones = devices.stream().filter(device -> device.kind() == Kind.PHONE).toList();
+        jdbcTemplate.batchUpdate("INSERT INTO phones (device_id, phone_number) VALUES (?, ?)",
+                phones, batchSize, (ps, device) -> {
+                    ps.setString(1, device.deviceId());
+                    ps.setString(2, device.phoneNumber());
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package com.assetmanager.sync;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Source of the change_seq values of the device and users rows. Numbers are handed out in memory (continuing from
+// the highest stored one), which assumes a single writing process, like the rest of the in-memory state.
+// A number is taken when the row is written but only becomes visible when its transaction commits, so commits can
+// land out of order. The watermark is the highest number below which no transaction is still open: a sync that stops
+// there can never skip a row that commits later with a smaller number.
+@Component
+public class ChangeSequence {
+    private final JdbcTemplate jdbcTemplate;
+    // Not a monitor: the first caller seeds the sequence with a query, which must not pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    // First number of every transaction that has allocated and not completed yet
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long last = -1;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long next() {
+        return allocate(1);
+    }
+
+    // Reserves count consecutive numbers and returns the first; they count as in flight until the surrounding
+    // transaction completes (committed or rolled back; numbers of a rollback are simply never used). Only the first
+    // allocation of a transaction is tracked: every later one is above it, so it already holds the watermark back.
+    public long allocate(int count) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        boolean tracked = inTransaction && TransactionSynchronizationManager.hasResource(this);
+        long first;
+        lock.lock();
+        try {
+            seedIfNeeded();
+            first = last + 1;
+            last += count;
+            if (inTransaction && !tracked) {
+                inFlight.add(first);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (inTransaction && !tracked) {
+            TransactionSynchronizationManager.bindResource(this, first);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                    release(first);
+                }
+            });
+        }
+        return first;
+    }
+
+    // Every row with a number up to this one is committed (or will never be)
+    public long watermark() {
+        lock.lock();
+        try {
+            seedIfNeeded();
+            return inFlight.isEmpty() ? last : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Highest number handed out so far
+    public long current() {
+        lock.lock();
+        try {
+            seedIfNeeded();
+            return last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long first) {
+        lock.lock();
+        try {
+            inFlight.remove(first);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Lazily, so the schema (and a startup snapshot restore, which takes numbers itself) is in place first, whatever
+    // order the startup callbacks run in. Called with the lock held.
+    private void seedIfNeeded() {
+        if (last < 0) {
+            Long highest = jdbcTemplate.queryForObject("""
+                    SELECT GREATEST((SELECT COALESCE(MAX(change_seq), 0) FROM device),
+                                    (SELECT COALESCE(MAX(change_seq), 0) FROM users))
+                    """, Long.class);
+            last = highest == null ? 0 : highest;
+        }
+    }
+}
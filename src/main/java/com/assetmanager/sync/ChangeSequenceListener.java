@@ -0,0 +1,28 @@
+package com.assetmanager.sync;
+
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.model.ChangeTracked;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+// JPA entity listener of Device and User: every insert and every update that Hibernate flushes gets the next change
+// sequence number, whichever service made the change. Hibernate obtains it from Spring, hence the injected sequence.
+// Unchanged entities passed to save() are not flushed, so they keep their number.
+@Component
+public class ChangeSequenceListener {
+    private final ChangeSequence sequence;
+
+    public ChangeSequenceListener(ChangeSequence sequence) {
+        this.sequence = sequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Object entity) {
+        if (entity instanceof ChangeTracked tracked) {
+            tracked.setChangeSeq(sequence.next());
+        }
+    }
+}
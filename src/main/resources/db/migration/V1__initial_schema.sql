@@ -0,0 +1,46 @@
+-- Baseline schema for the persistent profile; mirrors the JPA mappings in com.assetmanager.model
+
+CREATE TABLE users (
+    user_id         INTEGER      NOT NULL,
+    username        VARCHAR(255),
+    employee_id     VARCHAR(255),
+    username_key    VARCHAR(255),
+    employee_id_key VARCHAR(255),
+    CONSTRAINT pk_users PRIMARY KEY (user_id)
+);
+
+CREATE INDEX idx_users_employee_id_key ON users (employee_id_key);
+CREATE INDEX idx_users_username_key ON users (username_key);
+
+CREATE TABLE device (
+    device_id          VARCHAR(20)  NOT NULL,
+    brand              VARCHAR(255),
+    brand_key          VARCHAR(255),
+    model              VARCHAR(255),
+    operating_system   VARCHAR(255),
+    status             VARCHAR(32),
+    maintenance_reason VARCHAR(255),
+    decommission_date  DATE,
+    version            BIGINT,
+    user_id            INTEGER,
+    CONSTRAINT pk_device PRIMARY KEY (device_id),
+    CONSTRAINT fk_device_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE INDEX idx_device_brand_key ON device (brand_key);
+CREATE INDEX idx_device_status_brand_key ON device (status, brand_key);
+CREATE INDEX idx_device_user_id ON device (user_id);
+
+CREATE TABLE laptops (
+    device_id   VARCHAR(20) NOT NULL,
+    ram_size_gb INTEGER     NOT NULL,
+    CONSTRAINT pk_laptops PRIMARY KEY (device_id),
+    CONSTRAINT fk_laptops_device FOREIGN KEY (device_id) REFERENCES device (device_id)
+);
+
+CREATE TABLE phones (
+    device_id    VARCHAR(20) NOT NULL,
+    phone_number VARCHAR(255),
+    CONSTRAINT pk_phones PRIMARY KEY (device_id),
+    CONSTRAINT fk_phones_device FOREIGN KEY (device_id) REFERENCES device (device_id)
+);
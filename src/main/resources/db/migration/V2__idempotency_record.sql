@@ -0,0 +1,13 @@
+-- Responses of requests sent with an Idempotency-Key (see com.assetmanager.model.IdempotencyRecord)
+
+CREATE TABLE idempotency_record (
+    record_key    VARCHAR(64)              NOT NULL,
+    request_hash  VARCHAR(64)              NOT NULL,
+    status_code   INTEGER                  NOT NULL,
+    content_type  VARCHAR(255),
+    response_body BLOB,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_record PRIMARY KEY (record_key)
+);
+
+CREATE INDEX idx_idempotency_record_created_at ON idempotency_record (created_at);
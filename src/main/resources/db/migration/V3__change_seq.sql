@@ -0,0 +1,16 @@
+-- Change sequence of device and users rows for delta sync (see com.assetmanager.sync.ChangeSequence).
+-- Existing rows are numbered once, users first, so a first sync without a token returns all of them
+
+ALTER TABLE users ADD COLUMN change_seq BIGINT;
+ALTER TABLE device ADD COLUMN change_seq BIGINT;
+
+CREATE SEQUENCE change_seq_backfill;
+UPDATE users SET change_seq = NEXT VALUE FOR change_seq_backfill;
+UPDATE device SET change_seq = NEXT VALUE FOR change_seq_backfill;
+DROP SEQUENCE change_seq_backfill;
+
+ALTER TABLE users ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE device ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE INDEX idx_users_change_seq ON users (change_seq);
+CREATE INDEX idx_device_change_seq ON device (change_seq);
@@ -0,0 +1,162 @@
+package audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assetmanager.audit.AuditLog;
+import com.assetmanager.audit.AuditRecord;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.DeviceStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+class AuditLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("History only contains committed records of the requested device, in order")
+    void historyReturnsCommittedRecordsInOrder() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            log.append(change("L1", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, null, null));
+            log.append(change("L2", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, null, null));
+            log.append(change("L1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, null, 7));
+            assertTrue(log.history("L1").isEmpty(), "Records must not be visible before the commit");
+
+            log.commit();
+
+            List<AuditRecord> history = log.history("L1");
+            assertEquals(2, history.size());
+            assertEquals(DeviceTransition.REGISTER, history.get(0).getTransition());
+            assertEquals(DeviceTransition.RENT, history.get(1).getTransition());
+            assertEquals(7, history.get(1).getOwnerId());
+            assertEquals(0, history.get(0).getSequence());
+            assertEquals(2, history.get(1).getSequence());
+            assertTrue(log.history("UNKNOWN").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Records survive a reopen and the sequence continues")
+    void reopenRecoversIndexAndSequence() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            log.append(change("L1", DeviceTransition.MAINTENANCE, DeviceStatus.AVAILABLE, DeviceStatus.UNDER_REPAIR, null, null));
+            log.commit();
+        }
+
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            assertEquals(1, log.nextSequence());
+            log.append(change("L1", DeviceTransition.REPAIR, DeviceStatus.UNDER_REPAIR, DeviceStatus.AVAILABLE, null, null));
+            log.commit();
+
+            List<AuditRecord> history = log.history("L1");
+            assertEquals(List.of(DeviceTransition.MAINTENANCE, DeviceTransition.REPAIR),
+                    history.stream().map(AuditRecord::getTransition).toList());
+            assertEquals("Battery swollen", history.get(0).getDetail());
+        }
+    }
+
+    @Test
+    @DisplayName("A full segment rolls over to a new one and history spans both")
+    void rollsOverToNewSegments() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 200; i++) {
+                log.append(change("L1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, null, i));
+            }
+            log.commit();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(file -> file.toString().endsWith(".log")).count() > 1, "Expected several segments");
+        }
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            List<AuditRecord> history = log.history("L1");
+            assertEquals(200, history.size());
+            assertEquals(199, history.get(199).getOwnerId());
+            assertEquals(200, log.nextSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("History of sealed segments is read from their index files, also when the cache cannot hold them")
+    void readsSealedSegmentsFromTheirIndexFiles() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE, 10)) {
+            for (int i = 0; i < 200; i++) {
+                log.append(change(i % 2 == 0 ? "L1" : "L2", DeviceTransition.RENT, DeviceStatus.AVAILABLE,
+                        DeviceStatus.IN_USE, null, i));
+                log.commit();
+            }
+
+            List<AuditRecord> history = log.history("L2");
+            assertEquals(100, history.size());
+            assertEquals(1, history.get(0).getOwnerId());
+            assertEquals(199, history.get(99).getOwnerId());
+            assertEquals(100, log.history("L1").size());
+        }
+    }
+
+    @Test
+    @DisplayName("A rolled back batch is neither listed nor recovered, and appends continue after the last commit")
+    void rollbackDiscardsTheUncommittedBatch() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            log.append(change("L1", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, null, null));
+            log.commit();
+            log.append(change("L1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, null, 7));
+
+            log.rollback();
+
+            assertEquals(1, log.nextSequence());
+            log.append(change("L1", DeviceTransition.DECOMMISSION, DeviceStatus.AVAILABLE, DeviceStatus.DECOMMISSIONED, null, null));
+            log.commit();
+            assertEquals(List.of(DeviceTransition.REGISTER, DeviceTransition.DECOMMISSION),
+                    log.history("L1").stream().map(AuditRecord::getTransition).toList());
+        }
+
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            assertEquals(List.of(DeviceTransition.REGISTER, DeviceTransition.DECOMMISSION),
+                    log.history("L1").stream().map(AuditRecord::getTransition).toList());
+            assertEquals(2, log.nextSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("A torn index entry at the end of the active segment is discarded on reopen")
+    void discardsTornIndexTail() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            log.append(change("L1", DeviceTransition.DECOMMISSION, DeviceStatus.AVAILABLE, DeviceStatus.DECOMMISSIONED, null, null));
+            log.commit();
+        }
+        // Simulate a crash in the middle of writing the next index entry
+        Files.write(directory.resolve(String.format("%020d.idx", 0)), new byte[] {0, 2, 'L'}, StandardOpenOption.APPEND);
+
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            assertEquals(1, log.history("L1").size());
+            assertEquals(1, log.nextSequence());
+            log.append(change("L2", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, null, null));
+            log.commit();
+        }
+        try (AuditLog log = AuditLog.open(directory, SEGMENT_SIZE)) {
+            assertEquals(1, log.history("L2").size());
+        }
+    }
+
+    private static DeviceChange change(String deviceId, DeviceTransition transition, DeviceStatus previousStatus,
+                                       DeviceStatus status, Integer previousOwnerId, Integer ownerId) {
+        String detail = transition == DeviceTransition.MAINTENANCE ? "Battery swollen" : null;
+        return new DeviceChange(deviceId, transition, previousStatus, status, "Dell", previousOwnerId, ownerId,
+                detail, Instant.now());
+    }
+}
@@ -0,0 +1,100 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuditTrailAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @DynamicPropertySource
+    static void enableAuditTrail(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("audit-trail-test").toString();
+        registry.add("asset.audit.enabled", () -> "true");
+        registry.add("asset.audit.directory", () -> directory);
+    }
+
+    @Test
+    public void shouldRecordTheFullLifecycleOfADevice() throws InterruptedException {
+        // 1. Arrange: a laptop and a user to rent it
+        String laptopJson = """
+            {
+                "type": "laptop",
+                "deviceId": "AUD-LT-01",
+                "brand": "Lenovo",
+                "model": "ThinkPad T14",
+                "operatingSystem": "Windows 11",
+                "ramSizeGb": 16
+            }
+        """;
+        given().contentType(ContentType.JSON).body(laptopJson).when().post().then().statusCode(201);
+
+        String userJson = """
+            {
+                "userId": 1,
+                "username": "Audit User",
+                "employeeId": "EMP-AUD-1"
+            }
+        """;
+        given().basePath(basePathUser).contentType(ContentType.JSON).body(userJson).when().post().then().statusCode(201);
+
+        // 2. Act: walk the device through its whole lifecycle (one rejected transition in between)
+        given().when().post("/AUD-LT-01/rent/1").then().statusCode(200);
+        given().when().patch("/AUD-LT-01/decommission").then().statusCode(409);
+        given().when().post("/AUD-LT-01/return").then().statusCode(200);
+        given().contentType(ContentType.JSON).body("{\"reason\": \"Keyboard replacement\"}")
+            .when().post("/AUD-LT-01/maintenance").then().statusCode(200);
+        given().when().patch("/AUD-LT-01/maintenance/complete").then().statusCode(200);
+        given().when().patch("/AUD-LT-01/decommission").then().statusCode(200);
+
+        // 3. Assert: entries are written asynchronously, so wait for the group commit
+        Response history = awaitHistory("AUD-LT-01", 6);
+        history.then()
+            .statusCode(200)
+            .body("transition", contains("REGISTER", "RENT", "RETURN", "MAINTENANCE", "REPAIR", "DECOMMISSION"))
+            .body("[1].ownerId", equalTo(1))
+            .body("[1].status", equalTo("IN_USE"))
+            .body("[2].previousOwnerId", equalTo(1))
+            .body("[3].detail", equalTo("Keyboard replacement"))
+            .body("[5].status", equalTo("DECOMMISSIONED"));
+
+        List<Integer> sequences = history.path("sequence");
+        for (int i = 1; i < sequences.size(); i++) {
+            assertTrue(sequences.get(i) > sequences.get(i - 1), "Sequence numbers must increase");
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyHistoryForUnknownDevice() {
+        given()
+        .when()
+            .get("/NO-SUCH-DEVICE/history")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(0));
+    }
+
+    private Response awaitHistory(String deviceId, int expectedEntries) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        Response response;
+        do {
+            response = given().when().get("/" + deviceId + "/history");
+            if (response.path("size()").equals(expectedEntries)) {
+                return response;
+            }
+            Thread.sleep(50);
+        } while (System.currentTimeMillis() < deadline);
+        return response;
+    }
+}
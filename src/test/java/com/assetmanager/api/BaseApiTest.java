@@ -8,6 +8,8 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 
 import com.assetmanager.repository.DeviceRepository;
 import com.assetmanager.repository.UserRepository;
+import com.assetmanager.search.DeviceSearchService;
+import com.assetmanager.service.FleetCounters;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public abstract class BaseApiTest {
@@ -19,6 +21,10 @@ public abstract class BaseApiTest {
     protected DeviceRepository repository; // Inject the repository to verify the DB
     @Autowired
     protected UserRepository userRepository; // Inject the UserRepository to verify user-related operations
+    @Autowired
+    protected FleetCounters fleetCounters; // In-memory counts, re-synced after the repository-level cleanup
+    @Autowired
+    protected DeviceSearchService searchService; // In-memory search index, re-synced the same way
 
 
     @BeforeEach
@@ -30,5 +36,7 @@ public abstract class BaseApiTest {
         // Ensure Database is clean before EVERY test
         repository.deleteAll();
         userRepository.deleteAll();
+        fleetCounters.rebuild();
+        searchService.rebuild();
     }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.model.DeviceStatus;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BulkTransitionAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @BeforeEach
+    public void registerFleet() {
+        String devicesJson = """
+            {
+                "devices": [
+                { "type": "laptop", "deviceId": "BULK-LT-01", "brand": "Dell", "model": "Latitude 5420", "operatingSystem": "Windows 10", "ramSizeGb": 8 },
+                { "type": "laptop", "deviceId": "BULK-LT-02", "brand": "Dell", "model": "Latitude 5420", "operatingSystem": "Windows 10", "ramSizeGb": 8 },
+                { "type": "phone", "deviceId": "BULK-PH-01", "brand": "Samsung", "model": "Galaxy S21", "operatingSystem": "Android 11", "phoneNumber": "3124567890" }
+                ]
+            }
+            """;
+        given()
+            .contentType(ContentType.JSON)
+            .body(devicesJson)
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(201);
+
+        String userJson = """
+            {
+                "userId": 1,
+                "username": "Bulk User",
+                "employeeId": "EMP-BULK-1"
+            }
+        """;
+        given()
+            .basePath(basePathUser)
+            .contentType(ContentType.JSON)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+    }
+
+    @Test
+    public void shouldDecommissionAllDevicesAtomically() {
+        String bulkJson = """
+            {
+                "operation": "DECOMMISSION",
+                "deviceIds": ["BULK-LT-01", "BULK-LT-02", "BULK-PH-01"]
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(bulkJson)
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(200)
+            .body("mode", equalTo("ATOMIC"))
+            .body("committed", equalTo(true))
+            .body("requested", equalTo(3))
+            .body("succeeded", equalTo(3))
+            .body("failed", equalTo(0))
+            .body("results.deviceId", contains("BULK-LT-01", "BULK-LT-02", "BULK-PH-01"))
+            .body("results.outcome", everyItem(equalTo("APPLIED")))
+            .body("results.status", everyItem(equalTo("DECOMMISSIONED")));
+
+        repository.findAll().forEach(device -> assertEquals(DeviceStatus.DECOMMISSIONED, device.getStatus()));
+    }
+
+    @Test
+    public void shouldRollBackEveryDeviceWhenOneFailsInAtomicMode() {
+        // A rented device cannot be decommissioned, so the whole atomic request must be rolled back
+        given().when().post("/BULK-LT-02/rent/1").then().statusCode(200);
+
+        String bulkJson = """
+            {
+                "operation": "DECOMMISSION",
+                "deviceIds": ["BULK-LT-01", "BULK-LT-02", "BULK-PH-01"]
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(bulkJson)
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(409)
+            .body("committed", equalTo(false))
+            .body("succeeded", equalTo(0))
+            .body("failed", equalTo(1))
+            .body("results.find { it.deviceId == 'BULK-LT-02' }.outcome", equalTo("FAILED"))
+            .body("results.find { it.deviceId == 'BULK-LT-02' }.status", equalTo("IN_USE"))
+            .body("results.find { it.deviceId == 'BULK-LT-01' }.outcome", equalTo("ROLLED_BACK"))
+            .body("results.find { it.deviceId == 'BULK-PH-01' }.outcome", equalTo("ROLLED_BACK"));
+
+        assertEquals(DeviceStatus.AVAILABLE, repository.findById("BULK-LT-01").orElseThrow().getStatus());
+        assertEquals(DeviceStatus.IN_USE, repository.findById("BULK-LT-02").orElseThrow().getStatus());
+        assertEquals(DeviceStatus.AVAILABLE, repository.findById("BULK-PH-01").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void shouldCommitValidDevicesAndReportFailuresInPartialMode() {
+        String bulkJson = """
+            {
+                "operation": "MAINTENANCE",
+                "reason": "Quarterly battery check",
+                "deviceIds": ["BULK-LT-01", "NO-SUCH-DEVICE", "BULK-PH-01", "BULK-LT-01"]
+            }
+        """;
+
+        given()
+            .queryParam("mode", "PARTIAL")
+            .contentType(ContentType.JSON)
+            .body(bulkJson)
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(200)
+            .body("committed", equalTo(true))
+            .body("requested", equalTo(4))
+            .body("succeeded", equalTo(2))
+            .body("failed", equalTo(2))
+            .body("results.outcome", contains("APPLIED", "FAILED", "APPLIED", "FAILED"))
+            .body("results[1].message", containsString("NO-SUCH-DEVICE"))
+            .body("results[3].message", containsString("duplicated"));
+
+        assertEquals(DeviceStatus.UNDER_REPAIR, repository.findById("BULK-LT-01").orElseThrow().getStatus());
+        assertEquals("Quarterly battery check", repository.findById("BULK-PH-01").orElseThrow().getMaintenanceReason());
+        assertEquals(DeviceStatus.AVAILABLE, repository.findById("BULK-LT-02").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void shouldRentEveryDeviceToTheSameUser() {
+        String bulkJson = """
+            {
+                "operation": "RENT",
+                "userId": 1,
+                "deviceIds": ["BULK-LT-01", "BULK-PH-01"]
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(bulkJson)
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(200)
+            .body("succeeded", equalTo(2));
+
+        given()
+        .when()
+            .get("/user/EMP-BULK-1")
+        .then()
+            .statusCode(200)
+            .body("deviceId", containsInAnyOrder("BULK-LT-01", "BULK-PH-01"));
+    }
+
+    @Test
+    public void shouldRejectRentWithoutUser() {
+        String bulkJson = """
+            {
+                "operation": "RENT",
+                "deviceIds": ["BULK-LT-01"]
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(bulkJson)
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("userId"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ChangeFeedAutomationTest extends BaseApiTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService reader = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void stopReader() {
+        reader.shutdownNow();
+    }
+
+    @Test
+    public void shouldStreamOnlyTransitionsOfTheRequestedStatus() throws Exception {
+        // 1. Arrange: follow devices entering or leaving repair
+        HttpResponse<Stream<String>> response = connect("?status=UNDER_REPAIR", null);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/event-stream"));
+        Iterator<String> lines = response.body().iterator();
+        assertEquals("subscribed", nextEvent(lines).get("event"));
+
+        // 2. Act: the registration is not a repair transition, the maintenance round trip is
+        registerLaptop("FEED-LT-01");
+        given().contentType(ContentType.JSON).body("{\"reason\": \"Broken hinge\"}")
+            .when().post("/FEED-LT-01/maintenance").then().statusCode(200);
+        given().when().patch("/FEED-LT-01/maintenance/complete").then().statusCode(200);
+
+        // 3. Assert
+        JsonNode maintenance = data(nextEvent(lines));
+        assertEquals("FEED-LT-01", maintenance.get("deviceId").asText());
+        assertEquals("MAINTENANCE", maintenance.get("transition").asText());
+        assertEquals("AVAILABLE", maintenance.get("from").asText());
+        assertEquals("UNDER_REPAIR", maintenance.get("to").asText());
+        JsonNode repair = data(nextEvent(lines));
+        assertEquals("REPAIR", repair.get("transition").asText());
+        assertEquals(maintenance.get("offset").asLong() + 1, repair.get("offset").asLong());
+        response.body().close();
+    }
+
+    @Test
+    public void shouldResumeFromTheLastEventIdAfterReconnecting() throws Exception {
+        HttpResponse<Stream<String>> first = connect("", null);
+        Iterator<String> lines = first.body().iterator();
+        nextEvent(lines); // subscribed
+        registerLaptop("FEED-LT-02");
+        Map<String, String> registered = nextEvent(lines);
+        assertEquals("REGISTER", data(registered).get("transition").asText());
+        first.body().close();
+
+        // Committed while the client is away
+        given().pathParam("id", "FEED-LT-02").when().patch("/{id}/decommission").then().statusCode(200);
+
+        HttpResponse<Stream<String>> resumed = connect("", registered.get("id"));
+        Iterator<String> resumedLines = resumed.body().iterator();
+        Map<String, String> subscribed = nextEvent(resumedLines);
+        assertEquals("subscribed", subscribed.get("event"));
+        assertEquals(1, data(subscribed).get("replayed").asInt());
+        JsonNode decommission = data(nextEvent(resumedLines));
+        assertEquals("DECOMMISSION", decommission.get("transition").asText());
+        assertEquals("DECOMMISSIONED", decommission.get("to").asText());
+        resumed.body().close();
+
+        // An ID from another stream (e.g. before a restart) cannot be resumed
+        HttpResponse<Stream<String>> unknown = connect("?after=0000-42", null);
+        assertEquals("reset", nextEvent(unknown.body().iterator()).get("event"));
+        unknown.body().close();
+    }
+
+    private void registerLaptop(String deviceId) {
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"" + deviceId + "\", \"brand\": \"Dell\", \"model\": \"Latitude\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 16}")
+            .when().post().then().statusCode(201);
+    }
+
+    private HttpResponse<Stream<String>> connect(String query, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/assets/changes" + query))
+            .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+    }
+
+    // Fields of the next event (id, event, data), skipping keep-alive comments
+    private Map<String, String> nextEvent(Iterator<String> lines) throws Exception {
+        return reader.submit(() -> {
+            Map<String, String> fields = new HashMap<>();
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.isEmpty() && !fields.isEmpty()) {
+                    return fields;
+                }
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    fields.merge(line.substring(0, colon), line.substring(colon + 1), (a, b) -> a + "\n" + b);
+                }
+            }
+            throw new IllegalStateException("Stream ended");
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private JsonNode data(Map<String, String> event) throws Exception {
+        return objectMapper.readTree(event.get("data"));
+    }
+}
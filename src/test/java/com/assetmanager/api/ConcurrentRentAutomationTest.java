@@ -0,0 +1,147 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentRentAutomationTest extends BaseApiTest {
+
+    private static final int CONTENDERS = 16;
+    private static final int ROUNDS = 5;
+
+    String basePathUser = "/api/users";
+
+    @Test
+    public void shouldNeverRentTheSameDeviceTwiceUnderContention() throws Exception {
+        // 1. Arrange: one user per contending thread
+        for (int userId = 1; userId <= CONTENDERS; userId++) {
+            String userJson = """
+                {
+                    "userId": %d,
+                    "username": "Contender %d",
+                    "employeeId": "EMP-C%02d"
+                }
+                """.formatted(userId, userId, userId);
+            given()
+                .basePath(basePathUser)
+                .contentType(ContentType.JSON)
+                .body(userJson)
+            .when()
+                .post()
+            .then()
+                .statusCode(201);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS);
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                String deviceId = "RACE-LT-" + round;
+                registerLaptop(deviceId);
+
+                // 2. Act: every thread waits on the same gate and then tries to rent the laptop for its own user
+                CountDownLatch startGate = new CountDownLatch(1);
+                List<Future<Response>> results = new ArrayList<>();
+                for (int userId = 1; userId <= CONTENDERS; userId++) {
+                    int contender = userId;
+                    Callable<Response> rent = () -> {
+                        startGate.await();
+                        return given().when().post("/" + deviceId + "/rent/" + contender);
+                    };
+                    results.add(executor.submit(rent));
+                }
+                startGate.countDown();
+
+                // 3. Assert: exactly one rent wins, every other request is rejected with 409
+                int winners = 0;
+                Integer winningUserId = null;
+                for (Future<Response> result : results) {
+                    Response response = result.get(30, TimeUnit.SECONDS);
+                    if (response.statusCode() == 200) {
+                        winners++;
+                        winningUserId = response.path("owner.userId");
+                    } else {
+                        assertEquals(409, response.statusCode(), "Losing rent should be a conflict: " + response.asString());
+                    }
+                }
+                assertEquals(1, winners, "Exactly one concurrent rent must succeed for " + deviceId);
+
+                Device device = repository.findById(deviceId).orElseThrow();
+                assertEquals(DeviceStatus.IN_USE, device.getStatus());
+                assertNotNull(device.getOwner());
+                assertEquals(winningUserId, device.getOwner().getUserId());
+                assertTrue(device.getVersion() > 0, "The winning rent should bump the device version");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldExposeVersionButIgnoreItOnRegistration() {
+        String laptopJson = """
+            {
+                "type": "laptop",
+                "deviceId": "RACE-LT-99",
+                "brand": "Dell",
+                "model": "Latitude 7440",
+                "operatingSystem": "Windows 11",
+                "ramSizeGb": 16,
+                "version": 7
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(laptopJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201)
+            .body("version", equalTo(0));
+
+        given()
+        .when()
+            .patch("/RACE-LT-99/decommission")
+        .then()
+            .statusCode(200)
+            .body("version", equalTo(1));
+    }
+
+    private void registerLaptop(String deviceId) {
+        String laptopJson = """
+            {
+                "type": "laptop",
+                "deviceId": "%s",
+                "brand": "Dell",
+                "model": "Latitude 7440",
+                "operatingSystem": "Windows 11",
+                "ramSizeGb": 16
+            }
+            """.formatted(deviceId);
+        given()
+            .contentType(ContentType.JSON)
+            .body(laptopJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+    }
+}
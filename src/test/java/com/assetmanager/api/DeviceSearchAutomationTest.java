@@ -0,0 +1,89 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+public class DeviceSearchAutomationTest extends BaseApiTest {
+
+    private void registerFleet() {
+        given().contentType(ContentType.JSON).body("""
+            {"devices": [
+                {"type": "laptop", "deviceId": "SRC-LT-01", "brand": "Lenovo", "model": "ThinkPad X1 Carbon", "operatingSystem": "Windows 11", "ramSizeGb": 16},
+                {"type": "laptop", "deviceId": "SRC-LT-02", "brand": "Lenovo", "model": "ThinkPad T14", "operatingSystem": "Linux", "ramSizeGb": 32},
+                {"type": "phone", "deviceId": "SRC-PH-01", "brand": "Apple", "model": "iPhone 15", "operatingSystem": "iOS", "phoneNumber": "555-0141"}
+            ]}
+        """).when().post("/batch").then().statusCode(201);
+    }
+
+    @Test
+    public void shouldFindDevicesByPartialModelName() {
+        // 1. Arrange: a batch registration and a single registration
+        registerFleet();
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"phone\", \"deviceId\": \"SRC-PH-02\", \"brand\": \"Apple\", \"model\": \"iPhone 14\", \"operatingSystem\": \"iOS\", \"phoneNumber\": \"555-0142\"}")
+            .when().post().then().statusCode(201);
+
+        // 2. Act & 3. Assert: both registrations are searchable right away
+        given()
+            .queryParam("q", "iPhone 1")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("total", equalTo(2))
+            .body("hits.device.deviceId", contains("SRC-PH-01", "SRC-PH-02"))
+            .body("hits[0].device.model", equalTo("iPhone 15"))
+            .body("hits[0].score", greaterThan(0f));
+
+        given()
+            .queryParam("q", "thinkpad x1")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("total", equalTo(1))
+            .body("hits[0].device.deviceId", equalTo("SRC-LT-01"));
+
+        // Phone numbers match without their separators
+        given()
+            .queryParam("q", "5550142")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("hits.device.deviceId", contains("SRC-PH-02"));
+    }
+
+    @Test
+    public void shouldPaginateRankedResults() {
+        registerFleet();
+
+        given()
+            .queryParam("q", "src")
+            .queryParam("page", 1)
+            .queryParam("size", 2)
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("total", equalTo(3))
+            .body("page", equalTo(1))
+            .body("size", equalTo(2))
+            .body("hits.size()", equalTo(1))
+            .body("hasMore", equalTo(false));
+    }
+
+    @Test
+    public void shouldRejectQueriesWithoutSearchableText() {
+        given()
+            .queryParam("q", " -- ")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("letter or digit"));
+    }
+}
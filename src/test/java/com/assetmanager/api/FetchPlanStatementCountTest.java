@@ -0,0 +1,108 @@
+package com.assetmanager.api;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.Laptop;
+import com.assetmanager.model.User;
+import com.assetmanager.service.AssetService;
+import com.assetmanager.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Device-with-owner and user-with-devices reads must each be a single SQL statement, however many devices
+// and distinct owners there are (no per-owner or per-user follow-up SELECTs)
+public class FetchPlanStatementCountTest extends BaseApiTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserService userService;
+
+    private SessionFactory sessionFactory;
+    private int devicesRegistered;
+    private int usersRegistered;
+
+    @BeforeEach
+    public void setUpStatistics() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        devicesRegistered = 0;
+        usersRegistered = 0;
+    }
+
+    @Test
+    public void statementCountShouldNotGrowWithTheFleet() {
+        growFleetTo(6);
+        Map<String, Long> smallFleet = measureReadPaths();
+
+        growFleetTo(60);
+        Map<String, Long> largeFleet = measureReadPaths();
+
+        smallFleet.forEach((path, statements) -> {
+            assertEquals(1L, statements, path + " should be a single statement");
+            assertEquals(statements, largeFleet.get(path), path + " should not issue more statements for a larger fleet");
+        });
+    }
+
+    // Every device is rented, two devices per user, so the number of distinct owners grows with the fleet
+    private void growFleetTo(int fleetSize) {
+        List<Device> laptops = new ArrayList<>();
+        for (int i = devicesRegistered + 1; i <= fleetSize; i++) {
+            laptops.add(new Laptop("FP-LT-" + i, i % 2 == 0 ? "Dell" : "Lenovo", "Model " + i, "Windows 11", 16));
+        }
+        assetService.registerDevicesBatch(laptops);
+
+        for (int i = devicesRegistered + 1; i <= fleetSize; i++) {
+            int userId = (i + 1) / 2;
+            if (userId > usersRegistered) {
+                userService.registerNewUser(new User(userId, "Fetch User " + userId, "EMP-FP-" + userId));
+                usersRegistered = userId;
+            }
+            assetService.rentDevice("FP-LT-" + i, userId);
+        }
+        devicesRegistered = fleetSize;
+    }
+
+    private Map<String, Long> measureReadPaths() {
+        Map<String, Long> statements = new LinkedHashMap<>();
+        statements.put("GET /api/assets", measure("/api/assets", devicesRegistered));
+        statements.put("GET /api/assets?status=IN_USE", measure("/api/assets?status=IN_USE", devicesRegistered));
+        statements.put("GET /api/assets?brand=dell", measure("/api/assets?brand=dell", devicesRegistered / 2));
+        statements.put("GET /api/assets/page", measure("/api/assets/page?limit=500", -1));
+        statements.put("GET /api/assets/user/{employeeId}", measure("/api/assets/user/EMP-FP-1", 2));
+        statements.put("GET /api/users/{userId}/devices", measure("/api/users/1/devices", 2));
+        return statements;
+    }
+
+    private long measure(String path, int expectedDevices) {
+        // Start cold, so cached owners cannot hide per-owner SELECTs
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        long before = statistics.getPrepareStatementCount();
+
+        var response = given().basePath("").when().get(path).then().statusCode(200);
+        if (expectedDevices >= 0) {
+            response.body("$", hasSize(expectedDevices))
+                    .body("owner.userId", everyItem(notNullValue()));
+        }
+
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,79 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FleetStatisticsAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void shouldAggregateTheFleetWithoutLoadingDevices() {
+        // 1. Arrange: 3 laptops (two brand spellings of Dell), 2 phones, one of them without an OS
+        given().basePath(basePathUser).contentType(ContentType.JSON)
+            .body("{\"userId\": 31, \"username\": \"Stats User\", \"employeeId\": \"EMP-STA-31\"}")
+            .when().post().then().statusCode(201);
+        given().contentType(ContentType.JSON).body("""
+            {"devices": [
+                {"type": "laptop", "deviceId": "STA-LT-01", "brand": "Dell", "model": "XPS 13", "operatingSystem": "Linux", "ramSizeGb": 16},
+                {"type": "laptop", "deviceId": "STA-LT-02", "brand": "DELL", "model": "XPS 15", "operatingSystem": "Windows 11", "ramSizeGb": 32},
+                {"type": "laptop", "deviceId": "STA-LT-03", "brand": "Lenovo", "model": "T14", "operatingSystem": "Linux", "ramSizeGb": 8},
+                {"type": "phone", "deviceId": "STA-PH-01", "brand": "Apple", "model": "iPhone 15", "operatingSystem": "iOS", "phoneNumber": "555-0131"},
+                {"type": "phone", "deviceId": "STA-PH-02", "brand": "Nokia", "model": "3310", "phoneNumber": "555-0132"}
+            ]}
+        """).when().post("/batch").then().statusCode(201);
+        given().when().post("/STA-LT-01/rent/31").then().statusCode(200);
+        given().contentType(ContentType.JSON).body("{\"reason\": \"Screen\"}")
+            .when().post("/STA-PH-01/maintenance").then().statusCode(200);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // 2. Act & 3. Assert
+        given()
+        .when()
+            .get("/stats")
+        .then()
+            .statusCode(200)
+            .body("totalDevices", equalTo(5))
+            .body("byStatus.AVAILABLE", equalTo(3))
+            .body("byStatus.IN_USE", equalTo(1))
+            .body("byStatus.UNDER_REPAIR", equalTo(1))
+            .body("byStatus.DECOMMISSIONED", equalTo(0))
+            .body("byBrand.size()", equalTo(4))
+            .body("byBrand.collect { it.value }.sum()", equalTo(5))
+            .body("byOperatingSystem.Linux", equalTo(2))
+            .body("byOperatingSystem.UNSPECIFIED", equalTo(1))
+            .body("byType.laptop", equalTo(3))
+            .body("byType.phone", equalTo(2))
+            .body("averageLaptopRamGb", both(greaterThan(18.66f)).and(lessThan(18.67f)));
+
+        assertEquals(0, statistics.getEntityLoadCount(), "Statistics must not materialize any entity");
+    }
+
+    @Test
+    public void shouldReturnZeroCountsForAnEmptyFleet() {
+        given()
+        .when()
+            .get("/stats")
+        .then()
+            .statusCode(200)
+            .body("totalDevices", equalTo(0))
+            .body("byStatus.AVAILABLE", equalTo(0))
+            .body("byBrand.size()", equalTo(0))
+            .body("byType.laptop", equalTo(0))
+            .body("averageLaptopRamGb", nullValue());
+    }
+}
@@ -0,0 +1,158 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.assetmanager.idempotency.IdempotencyStore;
+import com.assetmanager.repository.IdempotencyRecordRepository;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+public class IdempotencyAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    private static final String BATCH = """
+        {"devices": [
+            {"type": "laptop", "deviceId": "IDM-LT-01", "brand": "Dell", "model": "Latitude", "operatingSystem": "Linux", "ramSizeGb": 16},
+            {"type": "laptop", "deviceId": "IDM-LT-02", "brand": "Dell", "model": "Latitude", "operatingSystem": "Linux", "ramSizeGb": 16}
+        ]}
+    """;
+
+    @Test
+    public void shouldReplayARetriedBatchInsteadOfFailingOnDuplicates() {
+        String key = UUID.randomUUID().toString();
+
+        // 1. Arrange: the first attempt registers the devices
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON).body(BATCH)
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(201)
+            .header("Idempotent-Replayed", nullValue())
+            .body("devicesRegistered", equalTo(2));
+
+        // 2. Act: the client retries after a timeout with the same key
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON).body(BATCH)
+        .when()
+            .post("/batch")
+        // 3. Assert: the original answer, and the devices exist only once
+        .then()
+            .statusCode(201)
+            .header("Idempotent-Replayed", equalTo("true"))
+            .body("devicesRegistered", equalTo(2));
+
+        assertEquals(2, repository.count());
+        // Batch responses are also persisted, so the replay survives a restart
+        String recordKey = IdempotencyStore.recordKey("POST", "/api/assets/batch", key);
+        assertTrue(recordRepository.existsById(recordKey));
+
+        // Without a key the duplicate is still rejected
+        given().contentType(ContentType.JSON).body(BATCH)
+            .when().post("/batch").then().statusCode(400);
+    }
+
+    @Test
+    public void shouldReplayARetriedRent() {
+        given().basePath(basePathUser).contentType(ContentType.JSON)
+            .body("{\"userId\": 41, \"username\": \"Retry User\", \"employeeId\": \"EMP-IDM-41\"}")
+            .when().post().then().statusCode(201);
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"phone\", \"deviceId\": \"IDM-PH-01\", \"brand\": \"Apple\", \"model\": \"iPhone 15\", \"operatingSystem\": \"iOS\", \"phoneNumber\": \"555-0141\"}")
+            .when().post().then().statusCode(201);
+        String key = UUID.randomUUID().toString();
+
+        given().header("Idempotency-Key", key)
+            .when().post("/IDM-PH-01/rent/41")
+            .then().statusCode(200).body("status", equalTo("IN_USE"));
+
+        // The retry is answered from the stored response instead of failing on the device state
+        given().header("Idempotency-Key", key)
+        .when()
+            .post("/IDM-PH-01/rent/41")
+        .then()
+            .statusCode(200)
+            .header("Idempotent-Replayed", equalTo("true"))
+            .body("status", equalTo("IN_USE"));
+
+        // A new key is a new operation
+        given().header("Idempotency-Key", UUID.randomUUID().toString())
+            .when().post("/IDM-PH-01/rent/41")
+            .then().statusCode(409);
+    }
+
+    @Test
+    public void shouldRejectAKeyReusedWithADifferentBody() {
+        String key = UUID.randomUUID().toString();
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON).body(BATCH)
+            .when().post("/batch").then().statusCode(201);
+
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON)
+            .body(BATCH.replace("IDM-LT-02", "IDM-LT-03"))
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(422)
+            .body("message", containsString("different request body"));
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    public void shouldRejectAKeyReusedWithADifferentQueryString() {
+        given().contentType(ContentType.JSON).body(BATCH).when().post("/batch").then().statusCode(201);
+        String key = UUID.randomUUID().toString();
+        String bulkJson = "{\"operation\": \"DECOMMISSION\", \"deviceIds\": [\"IDM-LT-01\"]}";
+
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON).body(bulkJson)
+            .queryParam("mode", "ATOMIC")
+            .when().post("/bulk")
+            .then().statusCode(200).body("mode", equalTo("ATOMIC"));
+
+        // Same key and body, but a different mode: not a retry of the first request
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON).body(bulkJson)
+            .queryParam("mode", "PARTIAL")
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(422)
+            .body("message", containsString("query string"));
+
+        // The original query string is still a retry
+        given().header("Idempotency-Key", key).contentType(ContentType.JSON).body(bulkJson)
+            .queryParam("mode", "ATOMIC")
+            .when().post("/bulk")
+            .then().statusCode(200).header("Idempotent-Replayed", equalTo("true"));
+    }
+
+    @Test
+    public void shouldNotStoreFailedAttempts() {
+        String key = UUID.randomUUID().toString();
+
+        // Fails: the device does not exist yet
+        given().header("Idempotency-Key", key)
+            .when().patch("/IDM-LT-09/decommission")
+            .then().statusCode(404);
+
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"IDM-LT-09\", \"brand\": \"Dell\", \"model\": \"Latitude\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 8}")
+            .when().post().then().statusCode(201);
+
+        // The same key now runs the operation for real
+        given().header("Idempotency-Key", key)
+        .when()
+            .patch("/IDM-LT-09/decommission")
+        .then()
+            .statusCode(200)
+            .header("Idempotent-Replayed", nullValue())
+            .body("status", equalTo("DECOMMISSIONED"));
+    }
+}
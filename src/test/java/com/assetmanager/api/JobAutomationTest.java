@@ -0,0 +1,103 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.StringJoiner;
+
+public class JobAutomationTest extends BaseApiTest {
+
+    String basePathJobs = "/api/jobs";
+
+    @Test
+    public void shouldImportDevicesInChunksAndReportFailures() throws InterruptedException {
+        // 1. Arrange: one ID of the job already exists; 1200 devices span three chunks of 500
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"JOB-00042\", \"brand\": \"Dell\", \"model\": \"Latitude\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 8}")
+            .when().post().then().statusCode(201);
+        StringJoiner devices = new StringJoiner(",", "{\"devices\": [", "]}");
+        for (int i = 0; i < 1200; i++) {
+            devices.add(String.format("{\"type\": \"laptop\", \"deviceId\": \"JOB-%05d\", \"brand\": \"Lenovo\", \"model\": \"T14\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 16}", i));
+        }
+
+        // 2. Act: the submission returns before the work is done
+        Response submitted = given().basePath(basePathJobs).contentType(ContentType.JSON).body(devices.toString())
+        .when()
+            .post("/import");
+        submitted.then()
+            .statusCode(202)
+            .body("type", equalTo("IMPORT"))
+            .body("totalItems", equalTo(1200));
+        String jobId = submitted.path("jobId");
+        assertTrue(submitted.header("Location").endsWith("/api/jobs/" + jobId));
+
+        // 3. Assert
+        Response finished = awaitFinished(jobId);
+        finished.then()
+            .body("state", equalTo("COMPLETED"))
+            .body("processedItems", equalTo(1200))
+            .body("succeededItems", equalTo(1199))
+            .body("failedItems", equalTo(1))
+            .body("failures[0].deviceId", equalTo("JOB-00042"))
+            .body("failures[0].message", containsString("already exists"));
+        assertEquals(1201, repository.count());
+    }
+
+    @Test
+    public void shouldRunABulkTransitionJob() throws InterruptedException {
+        given().contentType(ContentType.JSON).body("""
+            {"devices": [
+                {"type": "laptop", "deviceId": "JOB-LT-01", "brand": "Dell", "model": "Latitude", "operatingSystem": "Linux", "ramSizeGb": 8},
+                {"type": "laptop", "deviceId": "JOB-LT-02", "brand": "Dell", "model": "Latitude", "operatingSystem": "Linux", "ramSizeGb": 8}
+            ]}
+        """).when().post("/batch").then().statusCode(201);
+
+        String jobId = given().basePath(basePathJobs).contentType(ContentType.JSON)
+            .body("{\"operation\": \"DECOMMISSION\", \"deviceIds\": [\"JOB-LT-01\", \"JOB-LT-02\", \"JOB-LT-99\"]}")
+        .when()
+            .post("/bulk")
+        .then()
+            .statusCode(202)
+            .extract().path("jobId");
+
+        Response finished = awaitFinished(jobId);
+        finished.then()
+            .body("state", equalTo("COMPLETED"))
+            .body("succeededItems", equalTo(2))
+            .body("failedItems", equalTo(1))
+            .body("failures[0].deviceId", equalTo("JOB-LT-99"))
+            .body("itemsPerSecond", greaterThan(0f));
+        assertEquals("DECOMMISSIONED", repository.findById("JOB-LT-01").orElseThrow().getStatus().name());
+    }
+
+    @Test
+    public void shouldRejectInvalidSubmissionsAndUnknownJobs() {
+        given().basePath(basePathJobs).contentType(ContentType.JSON)
+            .body("{\"operation\": \"RENT\", \"deviceIds\": [\"JOB-LT-01\"]}")
+            .when().post("/bulk")
+            .then().statusCode(400).body("message", containsString("userId"));
+
+        given().basePath(basePathJobs)
+            .when().get("/does-not-exist")
+            .then().statusCode(404).body("error", equalTo("Job Not Found"));
+    }
+
+    private Response awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            Response response = given().basePath(basePathJobs).when().get("/" + jobId);
+            String state = response.path("state");
+            if (!"QUEUED".equals(state) && !"RUNNING".equals(state)) {
+                return response;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Job " + jobId + " did not finish: " + state);
+            Thread.sleep(50);
+        }
+    }
+}
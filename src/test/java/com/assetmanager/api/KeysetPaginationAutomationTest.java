@@ -0,0 +1,113 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KeysetPaginationAutomationTest extends BaseApiTest {
+
+    @BeforeEach
+    public void registerFleet() {
+        String devicesJson = """
+            {
+                "devices": [
+                { "type": "laptop", "deviceId": "PG-05", "brand": "Dell", "model": "XPS 13", "operatingSystem": "Windows 11", "ramSizeGb": 16 },
+                { "type": "laptop", "deviceId": "PG-01", "brand": "Dell", "model": "XPS 15", "operatingSystem": "Windows 11", "ramSizeGb": 32 },
+                { "type": "phone", "deviceId": "PG-04", "brand": "Apple", "model": "iPhone 15", "operatingSystem": "iOS 17", "phoneNumber": "3120000004" },
+                { "type": "laptop", "deviceId": "PG-02", "brand": "dell", "model": "Latitude", "operatingSystem": "Windows 11", "ramSizeGb": 16 },
+                { "type": "phone", "deviceId": "PG-03", "brand": "Samsung", "model": "Galaxy S24", "operatingSystem": "Android 14", "phoneNumber": "3120000003" }
+                ]
+            }
+            """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(devicesJson)
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(201);
+    }
+
+    @Test
+    public void shouldWalkAllPagesInDeviceIdOrder() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            var request = given().queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("cursor", cursor);
+            }
+            Response response = request
+            .when()
+                .get("/page")
+            .then()
+                .statusCode(200)
+                .body("size", lessThanOrEqualTo(2))
+                .extract().response();
+
+            seen.addAll(response.jsonPath().getList("devices.deviceId", String.class));
+            cursor = response.jsonPath().getString("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        // Every device exactly once, sorted by ID, in ceil(5 / 2) pages
+        assertEquals(List.of("PG-01", "PG-02", "PG-03", "PG-04", "PG-05"), seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    public void shouldApplyFiltersAcrossPages() {
+        String cursor = given()
+            .queryParam("brand", "DELL")
+            .queryParam("limit", 2)
+        .when()
+            .get("/page")
+        .then()
+            .statusCode(200)
+            .body("devices.deviceId", contains("PG-01", "PG-02"))
+            .body("hasMore", equalTo(true))
+            .extract().path("nextCursor");
+
+        given()
+            .queryParam("brand", "DELL")
+            .queryParam("limit", 2)
+            .queryParam("cursor", cursor)
+        .when()
+            .get("/page")
+        .then()
+            .statusCode(200)
+            .body("devices.deviceId", contains("PG-05"))
+            .body("hasMore", equalTo(false))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    public void shouldRejectTamperedCursorAndInvalidLimit() {
+        given()
+            .queryParam("cursor", "not-a-cursor")
+        .when()
+            .get("/page")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("Invalid page cursor"));
+
+        given()
+            .queryParam("limit", 0)
+        .when()
+            .get("/page")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("Page limit must be positive"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.assetmanager.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.model.Laptop;
+import com.assetmanager.model.User;
+import com.assetmanager.service.AssetService;
+import com.assetmanager.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Proves with EXPLAIN that the case-insensitive lookups are index seeks on the shadow key columns,
+// while the old upper(column) = upper(?) form has to scan the table
+public class LookupIndexQueryPlanTest extends BaseApiTest {
+
+    private static final String[] BRANDS = {"Dell", "Lenovo", "HP", "Apple", "Asus"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    public void seed() {
+        List<Device> laptops = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            laptops.add(new Laptop("IDX-LT-" + i, BRANDS[i % BRANDS.length], "Model " + i, "Windows 11", 16));
+        }
+        assetService.registerDevicesBatch(laptops);
+        for (int i = 1; i <= 200; i++) {
+            userService.registerNewUser(new User(i, "Index User " + i, "EMP-IDX-" + i));
+        }
+        // Refresh the optimizer's row counts and selectivity after seeding
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    public void brandLookupShouldSeekTheBrandKeyIndex() {
+        String plan = explain("SELECT device_id FROM device WHERE brand_key = ?", "DELL");
+        assertUsesIndex(plan, "IDX_DEVICE_BRAND_KEY");
+    }
+
+    @Test
+    public void statusAndBrandLookupShouldSeekTheCompositeIndex() {
+        String plan = explain("SELECT device_id FROM device WHERE status = ? AND brand_key = ?", "AVAILABLE", "DELL");
+        assertUsesIndex(plan, "IDX_DEVICE_STATUS_BRAND_KEY");
+    }
+
+    @Test
+    public void statusLookupShouldUseTheCompositeIndexPrefix() {
+        String plan = explain("SELECT device_id FROM device WHERE status = ?", "UNDER_REPAIR");
+        assertUsesIndex(plan, "IDX_DEVICE_STATUS_BRAND_KEY");
+    }
+
+    @Test
+    public void userLookupsShouldSeekTheirKeyIndexes() {
+        assertUsesIndex(explain("SELECT user_id FROM users WHERE employee_id_key = ?", "EMP-IDX-7"), "IDX_USERS_EMPLOYEE_ID_KEY");
+        assertUsesIndex(explain("SELECT user_id FROM users WHERE username_key = ?", "INDEX USER 7"), "IDX_USERS_USERNAME_KEY");
+    }
+
+    @Test
+    public void upperFunctionLookupShouldScanTheTable() {
+        // The form the IgnoreCase derived queries used to generate: no index can serve it
+        String plan = explain("SELECT device_id FROM device WHERE UPPER(brand) = UPPER(?)", "dell");
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains("tablescan"), "Expected a table scan, plan was: " + plan);
+    }
+
+    @Test
+    public void shadowColumnsShouldBeMaintainedOnWrite() {
+        assertEquals("DELL", jdbcTemplate.queryForObject(
+                "SELECT brand_key FROM device WHERE device_id = ?", String.class, "IDX-LT-5"));
+        assertEquals("EMP-IDX-7", jdbcTemplate.queryForObject(
+                "SELECT employee_id_key FROM users WHERE user_id = ?", String.class, 7));
+
+        // Lookups still ignore case end to end
+        assertEquals(100, repository.findByBrandIgnoreCase("dElL").size());
+        assertEquals(100, repository.findByStatusAndBrandIgnoreCase(DeviceStatus.AVAILABLE, "dell").size());
+        assertEquals(1, userRepository.findByEmployeeIdIgnoreCase("emp-idx-7").size());
+        assertEquals(1, userRepository.findByUsernameIgnoreCase("index user 7").size());
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(indexName), "Expected " + indexName + " in plan: " + plan);
+        assertFalse(plan.toLowerCase(Locale.ROOT).contains("tablescan"), "Unexpected table scan: " + plan);
+    }
+}
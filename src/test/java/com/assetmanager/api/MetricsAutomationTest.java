@@ -0,0 +1,54 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+public class MetricsAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @Test
+    public void shouldExposeServiceRepositoryAndErrorMetricsInPrometheusFormat() {
+        // 1. Arrange: one rented laptop, one laptop in repair, one failed request
+        given().basePath(basePathUser).contentType(ContentType.JSON)
+            .body("{\"userId\": 21, \"username\": \"Metrics User\", \"employeeId\": \"EMP-MET-21\"}")
+            .when().post().then().statusCode(201);
+        given().contentType(ContentType.JSON)
+            .body("{\"devices\": [{\"type\": \"laptop\", \"deviceId\": \"MET-LT-01\", \"brand\": \"Dell\", \"model\": \"XPS 13\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 16},"
+                + " {\"type\": \"laptop\", \"deviceId\": \"MET-LT-02\", \"brand\": \"Dell\", \"model\": \"XPS 13\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 16}]}")
+            .when().post("/batch").then().statusCode(201);
+
+        // 2. Act
+        given().when().post("/MET-LT-01/rent/21").then().statusCode(200);
+        given().contentType(ContentType.JSON).body("{\"reason\": \"Fan noise\"}")
+            .when().post("/MET-LT-02/maintenance").then().statusCode(200);
+        given().when().post("/MET-UNKNOWN/return").then().statusCode(404);
+
+        // 3. Assert
+        given()
+            .basePath("/actuator")
+        .when()
+            .get("/prometheus")
+        .then()
+            .statusCode(200)
+            // Service timers, one series per method
+            .body(containsString("asset_service_seconds_count{class=\"AssetService\",exception=\"none\",method=\"rentDevice\"}"))
+            .body(containsString("method=\"moveDeviceToMaintenance\""))
+            .body(containsString("asset_service_seconds_bucket{"))
+            // Spring Data repository invocations
+            .body(containsString("spring_data_repository_invocations_seconds_count{"))
+            .body(containsString("repository=\"DeviceRepository\""))
+            // Batch size histogram, committed transitions and client errors
+            .body(containsString("asset_batch_size_devices_count{operation=\"register\"}"))
+            .body(containsString("asset_transitions_total{transition=\"RENT\"}"))
+            .body(containsString("asset_transitions_total{transition=\"MAINTENANCE\"}"))
+            .body(containsString("asset_exceptions_total{exception=\"DeviceNotFoundException\",status=\"404\"}"))
+            // Fleet gauges per status
+            .body(containsString("asset_fleet_devices{status=\"IN_USE\"} 1.0"))
+            .body(containsString("asset_fleet_devices{status=\"UNDER_REPAIR\"} 1.0"))
+            .body(containsString("asset_fleet_devices{status=\"DECOMMISSIONED\"} 0.0"));
+    }
+}
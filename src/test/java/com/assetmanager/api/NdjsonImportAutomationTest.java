@@ -0,0 +1,150 @@
+package com.assetmanager.api;
+
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NdjsonImportAutomationTest extends BaseApiTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Test
+    public void shouldImportAllDevicesFromNdjsonStream() {
+        // 1. Arrange: One device per line, blank lines are ignored
+        String body = """
+            {"type": "laptop", "deviceId": "IMP-LT-01", "brand": "Dell", "model": "XPS 13", "operatingSystem": "Windows 11", "ramSizeGb": 16}
+            {"type": "phone", "deviceId": "IMP-PH-01", "brand": "Apple", "model": "iPhone 15", "operatingSystem": "iOS 17", "phoneNumber": "3120000001"}
+
+            {"type": "laptop", "deviceId": "IMP-LT-02", "brand": "Lenovo", "model": "ThinkPad X1", "operatingSystem": "Windows 11", "ramSizeGb": 32}
+            """;
+
+        // 2. Act & Assert: Default mode is all-or-nothing
+        given()
+            .contentType(NDJSON)
+            .body(body)
+        .when()
+            .post("/import")
+        .then()
+            .statusCode(201)
+            .body("mode", equalTo("ATOMIC"))
+            .body("linesRead", equalTo(3))
+            .body("devicesImported", equalTo(3))
+            .body("committed", equalTo(true))
+            .body("errors", empty());
+
+        // 3. Assert: Verify the data is REALLY in the database
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    public void shouldRollBackWholeImportWhenAnyLineIsInvalidInAtomicMode() {
+        String body = """
+            {"type": "laptop", "deviceId": "IMP-LT-01", "brand": "Dell", "model": "XPS 13", "operatingSystem": "Windows 11", "ramSizeGb": 16}
+            {"type": "laptop", "deviceId": "IMP-LT-02", "brand": "", "model": "XPS 15", "operatingSystem": "Windows 11", "ramSizeGb": 16}
+            {"type": "phone", "deviceId": "IMP-PH-01", "brand": "Apple", "model": "iPhone 15"
+            """;
+
+        given()
+            .contentType(NDJSON)
+            .queryParam("mode", "ATOMIC")
+            .body(body)
+        .when()
+            .post("/import")
+        .then()
+            .statusCode(400)
+            .body("committed", equalTo(false))
+            .body("devicesImported", equalTo(0))
+            .body("devicesRejected", equalTo(2))
+            .body("errors[0].line", equalTo(2))
+            .body("errors[0].deviceId", equalTo("IMP-LT-02"))
+            .body("errors[0].message", containsString("Brand is mandatory"))
+            .body("errors[1].line", equalTo(3))
+            .body("errors[1].message", containsString("Malformed device record"));
+
+        // Nothing may be stored, not even the valid first line
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    public void shouldSkipInvalidLinesInBestEffortMode() {
+        // 1. Arrange: One device already exists and one ID is repeated inside the stream
+        String existingJson = """
+            {
+                "type": "phone",
+                "deviceId": "IMP-PH-01",
+                "brand": "Apple",
+                "model": "iPhone 15",
+                "operatingSystem": "iOS 17",
+                "phoneNumber": "3120000001"
+            }
+        """;
+        given()
+            .contentType("application/json")
+            .body(existingJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+
+        String body = """
+            {"type": "laptop", "deviceId": "IMP-LT-01", "brand": "Dell", "model": "XPS 13", "operatingSystem": "Windows 11", "ramSizeGb": 16}
+            {"type": "phone", "deviceId": "IMP-PH-01", "brand": "Apple", "model": "iPhone 15", "operatingSystem": "iOS 17", "phoneNumber": "3120000001"}
+            {"type": "tablet", "deviceId": "IMP-TB-01", "brand": "Apple", "model": "iPad"}
+            {"type": "laptop", "deviceId": "IMP-LT-01", "brand": "Dell", "model": "XPS 15", "operatingSystem": "Windows 11", "ramSizeGb": 32}
+            {"type": "laptop", "deviceId": "IMP-LT-02", "brand": "HP", "model": "EliteBook", "operatingSystem": "Windows 11", "ramSizeGb": 16}
+            """;
+
+        // 2. Act & Assert
+        given()
+            .contentType(NDJSON)
+            .queryParam("mode", "BEST_EFFORT")
+            .body(body)
+        .when()
+            .post("/import")
+        .then()
+            .statusCode(201)
+            .body("committed", equalTo(true))
+            .body("linesRead", equalTo(5))
+            .body("devicesImported", equalTo(2))
+            .body("devicesRejected", equalTo(3))
+            .body("errors.line", containsInAnyOrder(2, 3, 4))
+            .body("errors.find { it.line == 2 }.message", containsString("Device ID already exists: IMP-PH-01"))
+            .body("errors.find { it.line == 4 }.message", containsString("duplicated in the import: IMP-LT-01"));
+
+        // 3. Assert: Only the valid lines were stored, the first IMP-LT-01 wins
+        assertEquals(3, repository.count());
+        assertTrue(repository.findById("IMP-LT-02").isPresent(), "IMP-LT-02 should be stored");
+        assertEquals("XPS 13", repository.findById("IMP-LT-01").get().getModel());
+    }
+
+    @Test
+    public void shouldRejectOverlongLinesWithoutBufferingThem() {
+        // 1. Arrange: CRLF line endings, the second line is longer than asset.import.max-line-length (65536)
+        String body = String.join("\r\n",
+            "{\"type\": \"laptop\", \"deviceId\": \"IMP-LT-01\", \"brand\": \"Dell\", \"model\": \"XPS 13\", \"operatingSystem\": \"Windows 11\", \"ramSizeGb\": 16}",
+            "{\"type\": \"laptop\", \"deviceId\": \"IMP-LT-02\", \"brand\": \"Dell\", \"model\": \"" + "X".repeat(70_000) + "\"}",
+            "{\"type\": \"laptop\", \"deviceId\": \"IMP-LT-03\", \"brand\": \"HP\", \"model\": \"EliteBook\", \"operatingSystem\": \"Windows 11\", \"ramSizeGb\": 16}");
+
+        // 2. Act & Assert
+        given()
+            .contentType(NDJSON)
+            .queryParam("mode", "BEST_EFFORT")
+            .body(body)
+        .when()
+            .post("/import")
+        .then()
+            .statusCode(201)
+            .body("linesRead", equalTo(3))
+            .body("devicesImported", equalTo(2))
+            .body("devicesRejected", equalTo(1))
+            .body("errors[0].line", equalTo(2))
+            .body("errors[0].message", equalTo("Line is longer than 65536 characters"));
+
+        // 3. Assert: The lines around it were stored
+        assertEquals(2, repository.count());
+        assertTrue(repository.findById("IMP-LT-03").isPresent(), "IMP-LT-03 should be stored");
+    }
+}
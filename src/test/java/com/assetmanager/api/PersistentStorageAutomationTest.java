@@ -0,0 +1,129 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.assetmanager.AssetManagerApplication;
+import com.assetmanager.model.Device;
+import com.assetmanager.model.Laptop;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.service.AssetService;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("persistent")
+public class PersistentStorageAutomationTest extends BaseApiTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @DynamicPropertySource
+    static void useTemporaryStorage(DynamicPropertyRegistry registry) throws IOException {
+        String storage = Files.createTempDirectory("persistent-storage-test").toString();
+        String backups = Files.createTempDirectory("persistent-backup-test").toString();
+        registry.add("asset.storage.directory", () -> storage);
+        registry.add("asset.backup.directory", () -> backups);
+    }
+
+    @Test
+    public void shouldCreateTheSchemaThroughMigrations() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied.length >= 1, "The baseline migration must have been applied");
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertTrue(applied[0].getState().isApplied());
+
+        // The migrated schema must accept the same API traffic as the auto-generated one
+        String laptopJson = """
+            {
+                "type": "laptop",
+                "deviceId": "PER-LT-01",
+                "brand": "Dell",
+                "model": "Latitude 7440",
+                "operatingSystem": "Windows 11",
+                "ramSizeGb": 32
+            }
+        """;
+        given().contentType(ContentType.JSON).body(laptopJson).when().post().then().statusCode(201);
+
+        given()
+            .queryParam("brand", "DELL")
+        .when()
+            .get()
+        .then()
+            .statusCode(200)
+            .body("deviceId", contains("PER-LT-01"))
+            .body("[0].ramSizeGb", equalTo(32))
+            .body("[0].version", equalTo(0));
+    }
+
+    @Test
+    public void shouldWriteAnOnlineBackup() {
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"phone\", \"deviceId\": \"PER-PH-01\", \"brand\": \"Apple\", \"model\": \"iPhone 15\", \"operatingSystem\": \"iOS\", \"phoneNumber\": \"555-0100\"}")
+            .when().post().then().statusCode(201);
+
+        String file = given()
+            .basePath("/api/admin")
+        .when()
+            .post("/backup")
+        .then()
+            .statusCode(201)
+            .body("method", equalTo("BACKUP"))
+            .body("sizeBytes", greaterThan(0))
+            .extract().path("file");
+
+        assertTrue(Files.exists(Path.of(file)), "Backup file must exist: " + file);
+    }
+
+    @Test
+    public void shouldKeepTheInventoryAcrossRestarts() throws IOException {
+        String storage = Files.createTempDirectory("persistent-restart-test").toString();
+
+        try (ConfigurableApplicationContext first = startStandalone(storage)) {
+            first.getBean(AssetService.class).registerDevicesBatch(List.of(
+                new Laptop("RST-LT-01", "Lenovo", "ThinkPad X1", "Linux", 16),
+                new Laptop("RST-LT-02", "Lenovo", "ThinkPad X1", "Linux", 16)));
+        }
+
+        try (ConfigurableApplicationContext second = startStandalone(storage)) {
+            DeviceRepository devices = second.getBean(DeviceRepository.class);
+            assertEquals(2, devices.count());
+            Device restored = devices.findById("RST-LT-01").orElseThrow();
+            assertEquals("Lenovo", restored.getBrand());
+            // A second start must find the schema already migrated rather than failing on existing tables
+            MigrationInfoService migrations = second.getBean(Flyway.class).info();
+            assertEquals(0, migrations.pending().length);
+            assertEquals(migrations.all().length, migrations.applied().length);
+        }
+    }
+
+    // A separate application on its own database file. The second-level cache is off so closing it cannot
+    // shut down the JCache manager shared with the test contexts in this JVM
+    private static ConfigurableApplicationContext startStandalone(String storage) {
+        return new SpringApplicationBuilder(AssetManagerApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("persistent")
+            .properties(
+                "asset.storage.directory=" + storage,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false")
+            .run();
+    }
+}
@@ -0,0 +1,10 @@
+package com.assetmanager.api;
+
+// Baseline: requests are served by the default Tomcat platform-thread pool
+public class PlatformThreadLoadTest extends RequestExecutionLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,91 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.function.Function;
+
+import static io.restassured.RestAssured.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Measures the database work behind each mutating endpoint: every request must run in exactly one
+// transaction (no second read transaction to reload the device after the change) and stay within a fixed
+// statement budget, so an extra reload or a per-association SELECT shows up as a failure
+public class QueryCountPerRequestTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void registerUsers() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int userId = 1; userId <= 2; userId++) {
+            String userJson = """
+                {
+                    "userId": %d,
+                    "username": "Query User %d",
+                    "employeeId": "EMP-Q%d"
+                }
+                """.formatted(userId, userId, userId);
+            given()
+                .basePath(basePathUser)
+                .contentType(ContentType.JSON)
+                .body(userJson)
+            .when()
+                .post()
+            .then()
+                .statusCode(201);
+        }
+    }
+
+    @Test
+    public void everyMutatingEndpointShouldUseOneTransaction() {
+        String laptopJson = """
+            {
+                "type": "laptop",
+                "deviceId": "QC-LT-01",
+                "brand": "Dell",
+                "model": "XPS 13",
+                "operatingSystem": "Windows 11",
+                "ramSizeGb": 16
+            }
+        """;
+
+        // Budgets: the lookups the operation needs (existence check, device, user), then one write per changed table
+        measure("registerDevice", request -> request.contentType(ContentType.JSON).body(laptopJson).post(), 201, 4);
+        measure("rentDevice", request -> request.post("/QC-LT-01/rent/1"), 200, 6);
+        measure("transferDevice", request -> request.patch("/QC-LT-01/transfer/EMP-Q2"), 200, 6);
+        measure("returnDevice", request -> request.post("/QC-LT-01/return"), 200, 3);
+        measure("moveDeviceToMaintenance",
+                request -> request.contentType(ContentType.JSON).body("{\"reason\": \"Battery\"}").post("/QC-LT-01/maintenance"), 200, 3);
+        measure("completeMaintenance", request -> request.patch("/QC-LT-01/maintenance/complete"), 200, 3);
+        measure("decommissionDevice", request -> request.patch("/QC-LT-01/decommission"), 200, 3);
+    }
+
+    private void measure(String endpoint, Function<RequestSpecification, io.restassured.response.Response> call,
+                         int expectedStatus, long maxStatements) {
+        long transactionsBefore = statistics.getTransactionCount();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        call.apply(given()).then().statusCode(expectedStatus);
+
+        long transactions = statistics.getTransactionCount() - transactionsBefore;
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+        assertEquals(1, transactions, endpoint + " should complete in a single transaction");
+        assertTrue(statements <= maxStatements,
+                endpoint + " issued " + statements + " statements, more than its budget of " + maxStatements);
+    }
+}
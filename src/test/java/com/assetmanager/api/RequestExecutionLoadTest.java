@@ -0,0 +1,193 @@
+package com.assetmanager.api;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.Laptop;
+import com.assetmanager.model.User;
+import com.assetmanager.service.AssetService;
+import com.assetmanager.service.UserService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Closed-loop load test: every client owns one laptop and keeps renting and returning it, so the traffic is
+// blocking JDBC work without lock contention between clients. Subclasses pick the request execution mode.
+// Run with ./gradlew loadTest; concurrency and duration can be tuned with -Dload.concurrency / -Dload.seconds
+@Tag("load")
+public abstract class RequestExecutionLoadTest extends BaseApiTest {
+    private static final Logger log = LoggerFactory.getLogger(RequestExecutionLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+    private static final int MEASURE_SECONDS = Integer.getInteger("load.seconds", 20);
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserService userService;
+
+    protected abstract String mode();
+
+    @Test
+    public void rentAndReturnUnderHighConcurrency() throws Exception {
+        // 1. Arrange: one user and one laptop per client
+        List<Device> laptops = new ArrayList<>();
+        for (int client = 1; client <= CONCURRENCY; client++) {
+            userService.registerNewUser(new User(client, "Load User " + client, "EMP-L" + client));
+            laptops.add(new Laptop(deviceId(client), "Dell", "Latitude 7440", "Windows 11", 16));
+        }
+        assetService.registerDevicesBatch(laptops);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // 2. Act: warm up, then measure a fixed window
+        runWindow(httpClient, WARMUP_SECONDS);
+        LoadResult result = runWindow(httpClient, MEASURE_SECONDS);
+
+        // 3. Report and assert: every request must succeed, in either mode
+        String report = result.toJson(mode(), CONCURRENCY, MEASURE_SECONDS);
+        log.info("Load test {}", report);
+        Path reportFile = Path.of("build", "results", "load", mode() + ".json");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report);
+
+        assertTrue(result.requests() > 0, "The load test did not complete any request");
+        assertEquals(0, result.errors(), "Requests failed under load in " + mode() + " mode");
+    }
+
+    private LoadResult runWindow(HttpClient httpClient, int seconds) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            CountDownLatch startGate = new CountDownLatch(1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<Future<ClientStats>> futures = new ArrayList<>();
+            for (int client = 1; client <= CONCURRENCY; client++) {
+                int clientId = client;
+                futures.add(clients.submit(() -> {
+                    startGate.await();
+                    return runClient(httpClient, clientId, deadline);
+                }));
+            }
+            long started = System.nanoTime();
+            startGate.countDown();
+
+            List<ClientStats> stats = new ArrayList<>();
+            for (Future<ClientStats> future : futures) {
+                stats.add(future.get(seconds + 60L, TimeUnit.SECONDS));
+            }
+            return LoadResult.of(stats, System.nanoTime() - started);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private ClientStats runClient(HttpClient httpClient, int clientId, long deadline) throws InterruptedException {
+        ClientStats stats = new ClientStats();
+        String devicePath = "http://localhost:" + port + "/api/assets/" + deviceId(clientId);
+        HttpRequest rent = post(devicePath + "/rent/" + clientId);
+        HttpRequest giveBack = post(devicePath + "/return");
+
+        while (System.nanoTime() < deadline) {
+            send(httpClient, rent, stats);
+            send(httpClient, giveBack, stats);
+        }
+        return stats;
+    }
+
+    private void send(HttpClient httpClient, HttpRequest request, ClientStats stats) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(System.nanoTime() - started, response.statusCode() == 200);
+        } catch (IOException ex) {
+            stats.record(System.nanoTime() - started, false);
+        }
+    }
+
+    private static HttpRequest post(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static String deviceId(int client) {
+        return "LOAD-LT-" + client;
+    }
+
+    private static final class ClientStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+    }
+
+    private record LoadResult(long requests, long errors, double throughputPerSecond, double p50Millis, double p99Millis) {
+
+        static LoadResult of(List<ClientStats> stats, long elapsedNanos) {
+            int total = stats.stream().mapToInt(s -> s.count).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            long errors = 0;
+            for (ClientStats clientStats : stats) {
+                System.arraycopy(clientStats.latencies, 0, all, offset, clientStats.count);
+                offset += clientStats.count;
+                errors += clientStats.errors;
+            }
+            Arrays.sort(all);
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return new LoadResult(total, errors, total / seconds, percentileMillis(all, 0.50), percentileMillis(all, 0.99));
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        String toJson(String mode, int concurrency, int seconds) {
+            return String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"concurrency\":%d,\"seconds\":%d,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughputPerSecond\":%.1f,\"p50Millis\":%.2f,\"p99Millis\":%.2f}",
+                    mode, concurrency, seconds, requests, errors, throughputPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.model.Device;
+import com.assetmanager.model.DeviceStatus;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SecondLevelCacheAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+    String basePathCache = "/api/cache";
+
+    @Test
+    public void shouldServeDeviceReadsFromCacheAndRefreshItOnTransitions() {
+        // 1. Arrange: Register a device and a user
+        String phoneJson = """
+            {
+                "type": "phone",
+                "deviceId": "CACHE-PH-01",
+                "brand": "Google",
+                "model": "Pixel 8",
+                "operatingSystem": "Android 14",
+                "phoneNumber": "3120000099"
+            }
+        """;
+        given()
+            .contentType(ContentType.JSON)
+            .body(phoneJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+
+        String userJson = """
+            {
+                "userId": 7,
+                "username": "Cache User",
+                "employeeId": "EMP-CACHE"
+            }
+        """;
+        given()
+            .basePath(basePathUser)
+            .contentType(ContentType.JSON)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+
+        long hitsBefore = deviceRegionHits();
+
+        // 2. Act: The rent looks the device up by ID, which the registration put into the cache
+        given()
+            .pathParam("id", "CACHE-PH-01")
+            .pathParam("userId", 7)
+        .when()
+            .post("/{id}/rent/{userId}")
+        .then()
+            .statusCode(200)
+            .body("status", equalTo("IN_USE"));
+
+        // 3. Assert: Cache was hit, and the cached entry reflects the transition (no stale AVAILABLE)
+        assertTrue(deviceRegionHits() > hitsBefore, "Device lookup should be served by the second-level cache");
+
+        Device cached = repository.findById("CACHE-PH-01").orElseThrow();
+        assertEquals(DeviceStatus.IN_USE, cached.getStatus());
+
+        given()
+            .pathParam("id", "CACHE-PH-01")
+        .when()
+            .post("/{id}/return")
+        .then()
+            .statusCode(200)
+            .body("status", equalTo("AVAILABLE"));
+
+        assertEquals(DeviceStatus.AVAILABLE, repository.findById("CACHE-PH-01").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void shouldExposeCacheStatistics() {
+        given()
+            .basePath(basePathCache)
+        .when()
+            .get("/stats")
+        .then()
+            .statusCode(200)
+            .body("secondLevelCacheHits", greaterThanOrEqualTo(0))
+            .body("regions", hasKey("device"))
+            .body("regions", hasKey("user"))
+            .body("regions.device", hasKey("hitCount"));
+    }
+
+    private long deviceRegionHits() {
+        return given()
+            .basePath(basePathCache)
+        .when()
+            .get("/stats")
+        .then()
+            .statusCode(200)
+            .extract().jsonPath().getLong("regions.device.hitCount");
+    }
+}
@@ -0,0 +1,110 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import com.assetmanager.snapshot.SnapshotService;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @DynamicPropertySource
+    static void useTemporarySnapshotFile(DynamicPropertyRegistry registry) throws IOException {
+        String file = Files.createTempDirectory("snapshot-test").resolve("inventory.snap").toString();
+        registry.add("asset.snapshot.file", () -> file);
+    }
+
+    @Test
+    public void shouldRestoreTheInventoryFromASnapshot() {
+        // 1. Arrange: an inventory with an owner, a repair ticket and a retired phone
+        given().basePath(basePathUser).contentType(ContentType.JSON)
+            .body("{\"userId\": 11, \"username\": \"Snapshot User\", \"employeeId\": \"EMP-SNAP-11\"}")
+            .when().post().then().statusCode(201);
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"SNP-LT-01\", \"brand\": \"Lenovo\", \"model\": \"ThinkPad T14\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 16}")
+            .when().post().then().statusCode(201);
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"SNP-LT-02\", \"brand\": \"Lenovo\", \"model\": \"ThinkPad T14\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 32}")
+            .when().post().then().statusCode(201);
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"phone\", \"deviceId\": \"SNP-PH-01\", \"brand\": \"Apple\", \"model\": \"iPhone 13\", \"operatingSystem\": \"iOS\", \"phoneNumber\": \"555-0111\"}")
+            .when().post().then().statusCode(201);
+
+        given().when().post("/SNP-LT-01/rent/11").then().statusCode(200);
+        given().contentType(ContentType.JSON).body("{\"reason\": \"Battery swap\"}")
+            .when().post("/SNP-LT-02/maintenance").then().statusCode(200);
+        given().when().patch("/SNP-PH-01/decommission").then().statusCode(200);
+
+        given().basePath("/api/admin")
+            .when().post("/snapshot")
+            .then().statusCode(201)
+            .body("users", equalTo(1))
+            .body("devices", equalTo(3))
+            .body("sizeBytes", greaterThan(0));
+
+        // 2. Act: lose the database, then load the snapshot back
+        repository.deleteAll();
+        userRepository.deleteAll();
+        snapshotService.restore();
+
+        // 3. Assert: state, owner, subtype attributes and lock versions are all back
+        given().when().get().then()
+            .statusCode(200)
+            .body("size()", equalTo(3))
+            .body("find { it.deviceId == 'SNP-LT-01' }.status", equalTo("IN_USE"))
+            .body("find { it.deviceId == 'SNP-LT-01' }.ramSizeGb", equalTo(16))
+            .body("find { it.deviceId == 'SNP-LT-01' }.version", equalTo(1))
+            .body("find { it.deviceId == 'SNP-LT-02' }.status", equalTo("UNDER_REPAIR"))
+            .body("find { it.deviceId == 'SNP-LT-02' }.maintenanceReason", equalTo("Battery swap"))
+            .body("find { it.deviceId == 'SNP-PH-01' }.status", equalTo("DECOMMISSIONED"))
+            .body("find { it.deviceId == 'SNP-PH-01' }.phoneNumber", equalTo("555-0111"))
+            .body("find { it.deviceId == 'SNP-PH-01' }.decommissionDate", notNullValue());
+
+        given().basePath(basePathUser).when().get("/11/devices").then()
+            .statusCode(200)
+            .body("deviceId", contains("SNP-LT-01"));
+
+        // Lookup keys are rebuilt on restore, so case-insensitive filters still hit the indexes
+        given().queryParam("brand", "lenovo").when().get().then()
+            .statusCode(200)
+            .body("size()", equalTo(2));
+
+        // Restored devices keep working as entities
+        given().when().post("/SNP-LT-01/return").then().statusCode(200).body("version", equalTo(2));
+    }
+
+    @Test
+    public void shouldRefuseToRestoreOverAnExistingInventory() {
+        given().basePath("/api/admin").when().post("/snapshot").then().statusCode(201);
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"SNP-LT-09\", \"brand\": \"HP\", \"model\": \"EliteBook\", \"operatingSystem\": \"Linux\", \"ramSizeGb\": 8}")
+            .when().post().then().statusCode(201);
+
+        assertThrows(IllegalStateException.class, () -> snapshotService.restore());
+    }
+
+    @Test
+    public void shouldReportStartupTimings() {
+        given().when().get().then().statusCode(200); // The first request is timed once it has completed
+
+        given().basePath("/api/admin").when().get("/startup").then()
+            .statusCode(200)
+            .body("jvmStartToReadyMs", greaterThan(0))
+            .body("jvmStartToFirstRequestMs", greaterThan(0))
+            .body("snapshotRestoreMs", equalTo(-1));
+    }
+}
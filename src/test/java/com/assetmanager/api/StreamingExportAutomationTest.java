@@ -0,0 +1,111 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+public class StreamingExportAutomationTest extends BaseApiTest {
+
+    String basePathUser = "/api/users";
+
+    @Test
+    public void shouldStreamEveryDeviceAsJsonArray() {
+        // 1. Arrange: Register a mixed fleet and rent one device so the owner is part of the export
+        String devicesJson = """
+            {
+                "devices": [
+                { "type": "laptop", "deviceId": "EXP-LT-02", "brand": "Lenovo", "model": "ThinkPad X1", "operatingSystem": "Windows 11", "ramSizeGb": 32 },
+                { "type": "phone", "deviceId": "EXP-PH-01", "brand": "Apple", "model": "iPhone 15", "operatingSystem": "iOS 17", "phoneNumber": "3120000001" },
+                { "type": "laptop", "deviceId": "EXP-LT-01", "brand": "Dell", "model": "XPS 13", "operatingSystem": "Windows 11", "ramSizeGb": 16 }
+                ]
+            }
+            """;
+        given()
+            .contentType(ContentType.JSON)
+            .body(devicesJson)
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(201);
+
+        String userJson = """
+            {
+                "userId": 1,
+                "username": "Export User",
+                "employeeId": "EMP-EXP-1"
+            }
+        """;
+        given()
+            .basePath(basePathUser)
+            .contentType(ContentType.JSON)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+
+        given()
+            .pathParam("id", "EXP-PH-01")
+            .pathParam("userId", 1)
+        .when()
+            .post("/{id}/rent/{userId}")
+        .then()
+            .statusCode(200);
+
+        // 2. Act & Assert: Same representation as GET /api/assets, ordered by device ID
+        given()
+        .when()
+            .get("/export")
+        .then()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("size()", equalTo(3))
+            .body("deviceId", contains("EXP-LT-01", "EXP-LT-02", "EXP-PH-01"))
+            .body("type", contains("laptop", "laptop", "phone"))
+            .body("[0].ramSizeGb", equalTo(16))
+            .body("[2].status", equalTo("IN_USE"))
+            .body("[2].owner.employeeId", equalTo("EMP-EXP-1"));
+    }
+
+    @Test
+    public void shouldStreamEmptyArrayWhenInventoryIsEmpty() {
+        given()
+        .when()
+            .get("/export")
+        .then()
+            .statusCode(200)
+            .body("size()", equalTo(0));
+    }
+
+    @Test
+    public void shouldStreamEveryUser() {
+        for (int userId = 3; userId >= 1; userId--) {
+            String userJson = """
+                {
+                    "userId": %d,
+                    "username": "User %d",
+                    "employeeId": "EMP00%d"
+                }
+                """.formatted(userId, userId, userId);
+            given()
+                .basePath(basePathUser)
+                .contentType(ContentType.JSON)
+                .body(userJson)
+            .when()
+                .post()
+            .then()
+                .statusCode(201);
+        }
+
+        given()
+            .basePath(basePathUser)
+        .when()
+            .get("/export")
+        .then()
+            .statusCode(200)
+            .body("userId", contains(1, 2, 3))
+            .body("employeeId", contains("EMP001", "EMP002", "EMP003"));
+    }
+}
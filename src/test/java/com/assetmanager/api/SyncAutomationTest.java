@@ -0,0 +1,111 @@
+package com.assetmanager.api;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SyncAutomationTest extends BaseApiTest {
+
+    String basePathSync = "/api/sync";
+
+    @Test
+    public void shouldReturnOnlyRowsChangedSinceTheToken() {
+        // 1. Arrange: a full first sync
+        given().basePath("/api/users").contentType(ContentType.JSON)
+            .body("{\"userId\": 701, \"username\": \"mirror\", \"employeeId\": \"EMP-701\"}")
+            .when().post().then().statusCode(201);
+        registerLaptop("SYNC-LT-01");
+        registerLaptop("SYNC-LT-02");
+        registerLaptop("SYNC-LT-03");
+
+        Response full = sync(null, null);
+        full.then()
+            .statusCode(200)
+            .body("users.userId", contains(701))
+            .body("devices.deviceId", contains("SYNC-LT-01", "SYNC-LT-02", "SYNC-LT-03"))
+            .body("tombstones", empty())
+            .body("hasMore", equalTo(false));
+        String token = full.path("nextToken");
+
+        // Nothing changed in between
+        sync(token, null).then()
+            .statusCode(200)
+            .body("size", equalTo(0))
+            .body("nextToken", equalTo(token));
+
+        // 2. Act
+        given().pathParam("id", "SYNC-LT-01").pathParam("userId", 701)
+            .when().post("/{id}/rent/{userId}").then().statusCode(200);
+        given().pathParam("id", "SYNC-LT-02").when().patch("/{id}/decommission").then().statusCode(200);
+
+        // 3. Assert: only the rented device and a tombstone for the decommissioned one
+        Response delta = sync(token, null);
+        delta.then()
+            .statusCode(200)
+            .body("devices.deviceId", contains("SYNC-LT-01"))
+            .body("devices[0].status", equalTo("IN_USE"))
+            .body("tombstones.deviceId", contains("SYNC-LT-02"))
+            .body("tombstones[0].decommissionDate", notNullValue());
+        int rentedChangeSeq = delta.path("devices[0].changeSeq");
+        int decommissionedChangeSeq = delta.path("tombstones[0].changeSeq");
+        assertTrue(rentedChangeSeq < decommissionedChangeSeq);
+
+        sync(delta.path("nextToken"), null).then().body("size", equalTo(0));
+    }
+
+    @Test
+    public void shouldPageThroughChangesInSequenceOrder() {
+        for (int i = 1; i <= 5; i++) {
+            registerLaptop("SYNC-PG-0" + i);
+        }
+        given().pathParam("id", "SYNC-PG-02").when().patch("/{id}/decommission").then().statusCode(200);
+
+        // The decommission moved SYNC-PG-02 behind the others
+        List<String> synced = new ArrayList<>();
+        String token = null;
+        boolean hasMore = true;
+        int pages = 0;
+        while (hasMore) {
+            Response page = sync(token, 2);
+            page.then().statusCode(200).body("size", lessThanOrEqualTo(2));
+            synced.addAll(page.path("devices.deviceId"));
+            synced.addAll(page.path("tombstones.deviceId"));
+            token = page.path("nextToken");
+            hasMore = page.path("hasMore");
+            pages++;
+        }
+        assertEquals(List.of("SYNC-PG-01", "SYNC-PG-03", "SYNC-PG-04", "SYNC-PG-05", "SYNC-PG-02"), synced);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    public void shouldRejectInvalidTokensAndLimits() {
+        sync("not-a-token", null).then().statusCode(400);
+        sync(null, 0).then().statusCode(400);
+    }
+
+    private Response sync(String since, Integer limit) {
+        var request = given().basePath(basePathSync);
+        if (since != null) {
+            request.queryParam("since", since);
+        }
+        if (limit != null) {
+            request.queryParam("limit", limit);
+        }
+        return request.when().get("/changes");
+    }
+
+    private void registerLaptop(String deviceId) {
+        given().contentType(ContentType.JSON)
+            .body("{\"type\": \"laptop\", \"deviceId\": \"" + deviceId + "\", \"brand\": \"HP\", \"model\": \"EliteBook\", \"operatingSystem\": \"Windows\", \"ramSizeGb\": 16}")
+            .when().post().then().statusCode(201);
+    }
+}
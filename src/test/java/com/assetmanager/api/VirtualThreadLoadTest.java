@@ -0,0 +1,32 @@
+package com.assetmanager.api;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@ActiveProfiles("virtual")
+public class VirtualThreadLoadTest extends RequestExecutionLoadTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext webServerContext;
+
+    // Virtual threads need JDK 21; make sure the profile really switched Tomcat to them before measuring
+    @BeforeEach
+    public void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21 or newer");
+        Connector connector = ((TomcatWebServer) webServerContext.getWebServer()).getTomcat().getConnector();
+        assertInstanceOf(VirtualThreadExecutor.class, connector.getProtocolHandler().getExecutor());
+    }
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,213 @@
+package feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.assetmanager.dto.DeviceFeedEvent;
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.feed.ChangeFeed;
+import com.assetmanager.model.DeviceStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class ChangeFeedTest {
+
+    private ChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        // history of 5 events, 3 buffered per subscriber, no heartbeats
+        feed = new ChangeFeed(5, 3, 2, 0, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    @DisplayName("Should push committed transitions in order with increasing offsets")
+    void shouldPushCommittedTransitions() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter, null, null);
+
+        feed.onDeviceChange(new DeviceChangeEvent(List.of(
+                change("DEV-1", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE),
+                change("DEV-1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE))));
+
+        List<Sent> sent = emitter.await(3);
+        assertEquals("subscribed", sent.get(0).name());
+        assertEquals(new ChangeFeed.Position(feed.getStreamId(), 0, 0), sent.get(0).data());
+        assertEquals("change", sent.get(1).name());
+        assertEquals(feed.getStreamId() + "-1", sent.get(1).id());
+        assertEquals(DeviceTransition.REGISTER, ((DeviceFeedEvent) sent.get(1).data()).getTransition());
+        DeviceFeedEvent rent = (DeviceFeedEvent) sent.get(2).data();
+        assertEquals(2, rent.getOffset());
+        assertEquals(DeviceStatus.AVAILABLE, rent.getFrom());
+        assertEquals(DeviceStatus.IN_USE, rent.getTo());
+    }
+
+    @Test
+    @DisplayName("Should replay the retained events after the Last-Event-ID, filtered by status")
+    void shouldResumeAfterLastEventId() throws InterruptedException {
+        publish("DEV-1", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE);
+        publish("DEV-1", DeviceTransition.MAINTENANCE, DeviceStatus.AVAILABLE, DeviceStatus.UNDER_REPAIR);
+        publish("DEV-2", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE);
+        publish("DEV-1", DeviceTransition.REPAIR, DeviceStatus.UNDER_REPAIR, DeviceStatus.AVAILABLE);
+
+        RecordingEmitter all = new RecordingEmitter();
+        feed.subscribe(all, feed.getStreamId() + "-2", null);
+        RecordingEmitter repairs = new RecordingEmitter();
+        feed.subscribe(repairs, feed.getStreamId() + "-1", DeviceStatus.UNDER_REPAIR);
+
+        List<Sent> sent = all.await(3);
+        assertEquals(new ChangeFeed.Position(feed.getStreamId(), 4, 2), sent.get(0).data());
+        assertEquals(List.of(3L, 4L), offsets(sent));
+
+        List<Sent> filtered = repairs.await(3);
+        assertEquals(List.of(2L, 4L), offsets(filtered));
+    }
+
+    @Test
+    @DisplayName("Should send a reset when the resume point is no longer retained or from another stream")
+    void shouldResetWhenResumeIsNotPossible() throws InterruptedException {
+        for (int i = 0; i < 8; i++) {
+            publish("DEV-" + i, DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE);
+        }
+
+        RecordingEmitter behind = new RecordingEmitter();
+        feed.subscribe(behind, feed.getStreamId() + "-1", null); // offsets 4..8 are retained
+        RecordingEmitter restarted = new RecordingEmitter();
+        feed.subscribe(restarted, "previous-3", null);
+        RecordingEmitter retained = new RecordingEmitter();
+        feed.subscribe(retained, feed.getStreamId() + "-3", null);
+
+        assertEquals("reset", behind.await(1).get(0).name());
+        assertEquals(new ChangeFeed.Position(feed.getStreamId(), 8, 0), behind.await(1).get(0).data());
+        assertEquals("reset", restarted.await(1).get(0).name());
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L), offsets(retained.await(6)));
+
+        publish("DEV-8", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE);
+        assertEquals(List.of(9L), offsets(behind.await(2)));
+    }
+
+    @Test
+    @DisplayName("Should evict a subscriber whose buffer overflows without blocking the publisher or the others")
+    void shouldEvictSlowSubscriber() throws InterruptedException {
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stalled);
+        RecordingEmitter fast = new RecordingEmitter();
+        feed.subscribe(slow, null, null);
+        feed.subscribe(fast, null, null);
+
+        // The slow client does not accept even its first event; one more than its buffer overflows it
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            publish("DEV-" + i, DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Publishing waited for the slow client");
+            fast.await(i + 2);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), offsets(fast.await(5)));
+        assertEquals(1, feed.getSubscriberCount());
+
+        stalled.countDown();
+        List<Sent> sent = slow.await(2);
+        assertEquals("evicted", sent.get(1).name());
+        assertEquals(new ChangeFeed.Position(feed.getStreamId(), 0, 0), sent.get(1).data());
+        assertTrue(slow.awaitCompleted());
+    }
+
+    private void publish(String deviceId, DeviceTransition transition, DeviceStatus from, DeviceStatus to) {
+        feed.onDeviceChange(DeviceChangeEvent.of(change(deviceId, transition, from, to)));
+    }
+
+    private static DeviceChange change(String deviceId, DeviceTransition transition, DeviceStatus from, DeviceStatus to) {
+        return new DeviceChange(deviceId, transition, from, to, "Dell", null, null, null, Instant.now());
+    }
+
+    private static List<Long> offsets(List<Sent> sent) {
+        return sent.stream()
+                .filter(event -> event.data() instanceof DeviceFeedEvent)
+                .map(event -> ((DeviceFeedEvent) event.data()).getOffset())
+                .toList();
+    }
+
+    private record Sent(String id, String name, Object data) {}
+
+    // Records what would be written to the connection; optionally stalls like a client that stopped reading
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Sent> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch stalled;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                stalled.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            StringBuilder text = new StringBuilder();
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String string) {
+                    text.append(string);
+                } else {
+                    data = part.getData();
+                }
+            }
+            sent.add(new Sent(field(text, "id:"), field(text, "event:"), data));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        List<Sent> await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, sent.size(), "Events sent: " + sent);
+            return new ArrayList<>(sent);
+        }
+
+        boolean awaitCompleted() throws InterruptedException {
+            return completed.await(5, TimeUnit.SECONDS);
+        }
+
+        private static String field(StringBuilder text, String prefix) {
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith(prefix)) {
+                    return line.substring(prefix.length());
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.dto.BulkMode;
+import com.assetmanager.dto.BulkOperation;
+import com.assetmanager.dto.BulkTransitionReport;
+import com.assetmanager.dto.BulkTransitionRequest;
+import com.assetmanager.dto.JobStatus;
+import com.assetmanager.exception.JobQueueFullException;
+import com.assetmanager.job.JobService;
+import com.assetmanager.job.JobState;
+import com.assetmanager.metrics.AssetMetrics;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.service.BulkTransitionService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+    @Mock
+    private DeviceRepository repository;
+    @Mock
+    private BulkTransitionService bulkTransitionService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AssetMetrics metrics;
+
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        // One worker, one queued job at most, two devices per chunk
+        jobService = new JobService(repository, bulkTransitionService, transactionTemplate, eventPublisher, metrics,
+                1, 1, 2, 100, 10, 60);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.stop();
+    }
+
+    @Test
+    @DisplayName("Should reject a submission while the worker is busy and the queue is full")
+    void testBackpressureWhenQueueIsFull() throws InterruptedException {
+        // ARRANGE: the first job blocks the only worker until released
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bulkTransitionService.applyChunk(any(), eq(BulkMode.PARTIAL))).thenAnswer(invocation -> {
+            running.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return decommissioned(invocation.getArgument(0));
+        });
+
+        JobStatus first = jobService.submitBulkTransition(decommission("L1"));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        JobStatus second = jobService.submitBulkTransition(decommission("L2"));
+
+        // ACT & ASSERT: the third job finds no room
+        assertThrows(JobQueueFullException.class, () -> jobService.submitBulkTransition(decommission("L3")));
+        assertEquals(JobState.QUEUED, jobService.getStatus(second.getJobId()).getState());
+
+        release.countDown();
+        assertEquals(JobState.COMPLETED, awaitFinished(first.getJobId()).getState());
+        assertEquals(JobState.COMPLETED, awaitFinished(second.getJobId()).getState());
+    }
+
+    @Test
+    @DisplayName("Should process a bulk job chunk by chunk and report per-device failures")
+    void testBulkJobIsChunked() throws InterruptedException {
+        when(bulkTransitionService.applyChunk(any(), eq(BulkMode.PARTIAL)))
+                .thenAnswer(invocation -> decommissioned(invocation.getArgument(0)));
+
+        JobStatus submitted = jobService.submitBulkTransition(decommission("L1", "L2", "L1", "L3", "L4"));
+        JobStatus finished = awaitFinished(submitted.getJobId());
+
+        // The duplicate is reported; the four distinct IDs go out as two chunks of two
+        verify(bulkTransitionService, times(2)).applyChunk(any(), eq(BulkMode.PARTIAL));
+        assertEquals(JobState.COMPLETED, finished.getState());
+        assertEquals(5, finished.getTotalItems());
+        assertEquals(4, finished.getSucceededItems());
+        assertEquals(1, finished.getFailedItems());
+        assertEquals("L1", finished.getFailures().get(0).getDeviceId());
+        assertEquals(1.0, finished.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should mark the job as failed when a chunk fails as a whole")
+    void testJobFailsOnNonItemError() throws InterruptedException {
+        when(bulkTransitionService.applyChunk(any(), eq(BulkMode.PARTIAL)))
+                .thenThrow(new IllegalStateException("boom"));
+
+        JobStatus finished = awaitFinished(jobService.submitBulkTransition(decommission("L1")).getJobId());
+
+        assertEquals(JobState.FAILED, finished.getState());
+        assertEquals("boom", finished.getError());
+    }
+
+    @Test
+    @DisplayName("Should mark the job as cancelled when the worker is interrupted between chunks")
+    void testInterruptedJobIsCancelled() throws InterruptedException {
+        // The first chunk is applied, then the worker is interrupted as on shutdown
+        when(bulkTransitionService.applyChunk(any(), eq(BulkMode.PARTIAL))).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return decommissioned(invocation.getArgument(0));
+        });
+
+        JobStatus finished = awaitFinished(jobService.submitBulkTransition(decommission("L1", "L2", "L3")).getJobId());
+
+        verify(bulkTransitionService, times(1)).applyChunk(any(), eq(BulkMode.PARTIAL));
+        assertEquals(JobState.CANCELLED, finished.getState());
+        assertEquals(2, finished.getSucceededItems());
+        assertNotNull(finished.getError());
+    }
+
+    @Test
+    @DisplayName("Should record the batch size once per job, not again per chunk")
+    void testBatchSizeIsRecordedOncePerJob() throws InterruptedException {
+        when(bulkTransitionService.applyChunk(any(), eq(BulkMode.PARTIAL)))
+                .thenAnswer(invocation -> decommissioned(invocation.getArgument(0)));
+
+        awaitFinished(jobService.submitBulkTransition(decommission("L1", "L2", "L3")).getJobId());
+
+        verify(metrics, times(1)).recordBatchSize("job-bulk-decommission", 3);
+        verify(bulkTransitionService, never()).applyTransition(any(), any());
+    }
+
+    private static BulkTransitionRequest decommission(String... deviceIds) {
+        return new BulkTransitionRequest(BulkOperation.DECOMMISSION, List.of(deviceIds), null, null);
+    }
+
+    private static BulkTransitionReport decommissioned(BulkTransitionRequest request) {
+        BulkTransitionReport report = new BulkTransitionReport(request.getOperation(), BulkMode.PARTIAL);
+        request.getDeviceIds().forEach(deviceId -> report.applied(deviceId, DeviceStatus.DECOMMISSIONED));
+        report.markCommitted(true);
+        return report;
+    }
+
+    private JobStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        JobStatus status = jobService.getStatus(jobId);
+        while (status.getState() == JobState.QUEUED || status.getState() == JobState.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Job " + jobId + " did not finish");
+            Thread.sleep(20);
+            status = jobService.getStatus(jobId);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,91 @@
+package search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.search.SearchIndex;
+import com.assetmanager.search.SearchIndex.Hit;
+import com.assetmanager.search.SearchIndex.Result;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.add("LT-0001", "Lenovo", "ThinkPad X1 Carbon", "Windows 11", null);
+        index.add("LT-0002", "Lenovo", "ThinkPad T14", "Linux", null);
+        index.add("PH-0001", "Apple", "iPhone 15", "iOS", "+1 555-0100");
+        index.add("PH-0002", "Apple", "iPhone 14", "iOS", "+1 555-0199");
+        index.add("PH-0003", "Samsung", "Galaxy S24", "Android", "555-0300");
+    }
+
+    @Test
+    @DisplayName("Text is split into lower-cased runs of letters and digits")
+    void tokenizeSplitsOnSeparators() {
+        assertEquals(List.of("thinkpad", "x1", "carbon", "2024"), SearchIndex.tokenize("ThinkPad X1-Carbon (2024)"));
+        assertEquals(List.of(), SearchIndex.tokenize(" -- "));
+        assertEquals(List.of(), SearchIndex.tokenize(null));
+    }
+
+    @Test
+    @DisplayName("Every query word must prefix-match a word of the device")
+    void partialModelNamesMatch() {
+        assertEquals(List.of("LT-0001"), ids(index.search("ThinkPad X1", 0, 10)));
+        assertEquals(List.of("PH-0001", "PH-0002"), ids(index.search("iPhone 1", 0, 10)));
+        assertEquals(List.of("PH-0003"), ids(index.search("galax andr", 0, 10)));
+        assertEquals(0, index.search("nokia", 0, 10).total());
+        assertEquals(0, index.search("iphone carbon", 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("Device IDs and phone numbers match with or without separators")
+    void identifiersMatchWithoutSeparators() {
+        assertEquals(List.of("LT-0002"), ids(index.search("LT-0002", 0, 10)));
+        assertEquals(List.of("LT-0002"), ids(index.search("lt0002", 0, 10)));
+        assertEquals(List.of("PH-0002"), ids(index.search("555 0199", 0, 10)));
+        assertEquals(List.of("PH-0003"), ids(index.search("5550300", 0, 10)));
+    }
+
+    @Test
+    @DisplayName("A more completely typed term ranks first, whatever the device ID order")
+    void hitsAreRankedByMatchQuality() {
+        Result result = index.search("t", 0, 10);
+
+        // "t" is a third of "t14" but only an eighth of "thinkpad"
+        assertEquals(List.of("LT-0002", "LT-0001"), ids(result));
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+    }
+
+    @Test
+    @DisplayName("Pages are cut from the ranked list while the total counts every match")
+    void pagination() {
+        Result secondPage = index.search("apple", 1, 1);
+        assertEquals(2, secondPage.total());
+        assertEquals(List.of("PH-0002"), ids(secondPage));
+
+        Result pastTheEnd = index.search("apple", 5, 1);
+        assertEquals(2, pastTheEnd.total());
+        assertTrue(pastTheEnd.hits().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A device ID is indexed once; later adds are ignored")
+    void duplicateAddsAreIgnored() {
+        index.add("LT-0001", "Dell", "Latitude", "Windows 11", null);
+
+        assertEquals(5, index.size());
+        assertEquals(0, index.search("dell", 0, 10).total());
+        assertEquals(List.of("LT-0001"), ids(index.search("carbon", 0, 10)));
+    }
+
+    private static List<String> ids(Result result) {
+        return result.hits().stream().map(Hit::deviceId).toList();
+    }
+}
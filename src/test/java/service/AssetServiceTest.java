@@ -3,13 +3,18 @@ package service;
 // Standard JUnit 5 Imports
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
 import com.assetmanager.exception.DeviceNotFoundException;
 import com.assetmanager.exception.InvalidDeviceStateException;
 import com.assetmanager.exception.UserNotFoundException;
+import com.assetmanager.metrics.AssetMetrics;
 import com.assetmanager.model.Device;
 import com.assetmanager.model.DeviceStatus;
 import com.assetmanager.model.Laptop;
@@ -18,8 +23,10 @@ import com.assetmanager.model.User;
 import com.assetmanager.repository.DeviceRepository;
 import com.assetmanager.repository.UserRepository;
 import com.assetmanager.service.AssetService;
+import com.assetmanager.service.DeviceIndexService;
 
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.context.ApplicationEventPublisher;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
@@ -31,6 +38,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 class AssetServiceTest {
@@ -39,6 +47,12 @@ class AssetServiceTest {
     private DeviceRepository repository; // The "stunt double"
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private DeviceIndexService deviceIndex; // Not ready, so reads go to the repository
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AssetMetrics metrics;
 
     @InjectMocks
     private AssetService assetService; // The "brain" with the mock inside
@@ -263,6 +277,49 @@ class AssetServiceTest {
         verify(repository, never()).save(any(Device.class));
     }
 
+    @Test
+    @DisplayName("Should resolve status filters through the secondary index when it is ready")
+    void testListAvailableDevicesThroughIndex() {
+        // 1. ARRANGE
+        MobilePhone phone1 = new MobilePhone("M1", "Apple", "iPhone 15", "iOS", "+123");
+        when(deviceIndex.isReady()).thenReturn(true);
+        when(deviceIndex.findIds(DeviceStatus.AVAILABLE, null)).thenReturn(List.of("M1"));
+        when(repository.findAllByDeviceIds(List.of("M1"))).thenReturn(List.of(phone1));
+
+        // 2. ACT
+        List<Device> available = assetService.getAllAvailableDevices();
+
+        // 3. ASSERT
+        assertEquals(List.of(phone1), available);
+
+        // 4. VERIFY: primary key fetch only, no status query
+        verify(repository, never()).findByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should publish a RENT change with the previous and new state")
+    void testRentPublishesDeviceChange() {
+        // 1. ARRANGE
+        String deviceId = "M1";
+        MobilePhone phone = new MobilePhone(deviceId, "Apple", "iPhone 15", "iOS", "+123");
+        when(repository.findById(deviceId)).thenReturn(Optional.of(phone));
+        User user = new User(1, "john_doe", "EMP123");
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        // 2. ACT
+        assetService.rentDevice(deviceId, 1);
+
+        // 3. VERIFY
+        ArgumentCaptor<DeviceChangeEvent> event = ArgumentCaptor.forClass(DeviceChangeEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        DeviceChange change = event.getValue().getChanges().get(0);
+        assertEquals(DeviceTransition.RENT, change.getTransition());
+        assertEquals(DeviceStatus.AVAILABLE, change.getPreviousStatus());
+        assertEquals(DeviceStatus.IN_USE, change.getStatus());
+        assertNull(change.getPreviousOwnerId());
+        assertEquals(1, change.getOwnerId());
+    }
+
     @Test
     @DisplayName("Should successfully move device from available to maintenance and complete repair")
     void testMoveAvailableDeviceToMaintenanceAndCompleteRepair() {
@@ -669,12 +726,11 @@ class AssetServiceTest {
         assertEquals(DeviceStatus.AVAILABLE, laptop3.getStatus());
 
         // 4. VERIFY
-        verify(repository, times(1)).save(phone1);
-        verify(repository, times(1)).save(phone2);
-        verify(repository, times(1)).save(phone3);
-        verify(repository, times(1)).save(laptop1);
-        verify(repository, times(1)).save(laptop2);
-        verify(repository, times(1)).save(laptop3);
+        // Existence is checked once for the whole batch and all devices are inserted together
+        verify(repository, times(1)).findExistingDeviceIds(List.of("M1", "M2", "M3", "L1", "L2", "L3"));
+        verify(repository, times(1)).insertAll(devicesToRegister);
+        verify(repository, never()).existsById(any());
+        verify(repository, never()).save(any(Device.class));
     }
 
     @Test
@@ -684,20 +740,42 @@ class AssetServiceTest {
         MobilePhone phone1 = new MobilePhone("M1", "Apple", "iPhone 15", "iOS", "+123");
         MobilePhone phone2 = new MobilePhone("M2", "Samsung", "Galaxy S24", "Android", "+456");
         
-        when(repository.existsById("M1")).thenReturn(true); // Simulate that M1 already exists
+        when(repository.findExistingDeviceIds(List.of("M1", "M2"))).thenReturn(Set.of("M1")); // Simulate that M1 already exists
 
         List<Device> devicesToRegister = List.of(phone1, phone2);
 
         // 2. ACT & ASSERT
-        assertThrows(IllegalArgumentException.class, () -> {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             assetService.registerDevicesBatch(devicesToRegister);
         });
+        assertEquals("Batch processing failed at index 0: Device ID already exists: M1", exception.getMessage());
 
         // 3. VERIFY
-        verify(repository, times(1)).existsById("M1");
+        verify(repository, times(1)).findExistingDeviceIds(List.of("M1", "M2"));
+        verify(repository, never()).insertAll(any());
         verify(repository, never()).save(any(Device.class));
     }
 
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the same Device ID appears twice in a batch")
+    void testBatchRegisterDevicesWithDuplicateIdsInRequest() {
+        // 1. ARRANGE
+        MobilePhone phone1 = new MobilePhone("M1", "Apple", "iPhone 15", "iOS", "+123");
+        Laptop laptop1 = new Laptop("L1", "Dell", "XPS 13", "Windows", 16);
+        MobilePhone phone1Again = new MobilePhone("M1", "Samsung", "Galaxy S24", "Android", "+456");
+
+        List<Device> devicesToRegister = List.of(phone1, laptop1, phone1Again);
+
+        // 2. ACT & ASSERT
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            assetService.registerDevicesBatch(devicesToRegister);
+        });
+        assertEquals("Batch processing failed at index 2: Device ID is duplicated in the batch: M1", exception.getMessage());
+
+        // 3. VERIFY
+        verify(repository, never()).insertAll(any());
+    }
+
     @Test
     @DisplayName("Should throw IllegalArgumentException when trying to register a batch with null device")
     void testBatchRegisterDevicesWithNullDevice() {
@@ -715,6 +793,27 @@ class AssetServiceTest {
         });
 
         // 3. VERIFY
+        verify(repository, never()).insertAll(any());
         verify(repository, never()).save(any(Device.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should list a user's devices with a single join-fetch query")
+    void testFindDevicesByUserIdUsesSingleQuery() {
+        // 1. ARRANGE
+        User user = new User(1, "john_doe", "EMP123");
+        Laptop laptop = new Laptop("L1", "Dell", "XPS 13", "Windows", 16);
+        laptop.setOwner(user);
+        when(repository.findByOwnerEmployeeId("emp123")).thenReturn(List.of(laptop));
+
+        // 2. ACT
+        List<Device> devices = assetService.findDevicesByUserId("emp123");
+
+        // 3. ASSERT
+        assertEquals(List.of(laptop), devices);
+
+        // 4. VERIFY - no separate user lookup
+        verify(repository, times(1)).findByOwnerEmployeeId("emp123");
+        verify(userRepository, never()).findByEmployeeIdIgnoreCase(any());
+    }
+}
@@ -0,0 +1,89 @@
+package service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.repository.DeviceKeyView;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.service.DeviceIndexService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceIndexServiceTest {
+
+    @Mock
+    private DeviceRepository repository;
+
+    private DeviceIndexService index;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllKeys()).thenReturn(List.of(
+                key("L1", DeviceStatus.AVAILABLE, "Dell"),
+                key("L2", DeviceStatus.IN_USE, "dell"),
+                key("M1", DeviceStatus.AVAILABLE, "Apple"),
+                key("M2", DeviceStatus.UNDER_REPAIR, "Apple")));
+
+        index = new DeviceIndexService(repository, true);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should resolve IDs by status, by case-insensitive brand and by both")
+    void testLookupsAfterRebuild() {
+        assertTrue(index.isReady());
+        assertEquals(List.of("L1", "M1"), index.findIds(DeviceStatus.AVAILABLE, null));
+        assertEquals(List.of("L1", "L2"), index.findIds(null, "DELL"));
+        assertEquals(List.of("M1"), index.findIds(DeviceStatus.AVAILABLE, "apple"));
+        assertEquals(List.of(), index.findIds(DeviceStatus.DECOMMISSIONED, null));
+        assertEquals(List.of(), index.findIds(DeviceStatus.AVAILABLE, "Samsung"));
+    }
+
+    @Test
+    @DisplayName("Should move a device between status sets when a transition is committed")
+    void testTransitionsKeepIndexConsistent() {
+        // ACT: L1 is rented, M2 comes back from repair and a new phone is registered
+        index.onDeviceChange(new DeviceChangeEvent(List.of(
+                change("L1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, "Dell"),
+                change("M2", DeviceTransition.REPAIR, DeviceStatus.UNDER_REPAIR, DeviceStatus.AVAILABLE, "Apple"),
+                change("M3", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, "Samsung"))));
+
+        // ASSERT
+        assertEquals(List.of("M1", "M2", "M3"), index.findIds(DeviceStatus.AVAILABLE, null));
+        assertEquals(List.of("L1", "L2"), index.findIds(DeviceStatus.IN_USE, null));
+        assertEquals(List.of(), index.findIds(DeviceStatus.UNDER_REPAIR, null));
+        assertEquals(List.of("M3"), index.findIds(null, "samsung"));
+        assertEquals(List.of("L1", "L2"), index.findIds(DeviceStatus.IN_USE, "Dell"));
+    }
+
+    @Test
+    @DisplayName("Should require at least one filter for an index lookup")
+    void testLookupWithoutFilters() {
+        assertThrows(IllegalArgumentException.class, () -> index.findIds(null, " "));
+    }
+
+    private static DeviceChange change(String deviceId, DeviceTransition transition, DeviceStatus from, DeviceStatus to, String brand) {
+        return new DeviceChange(deviceId, transition, from, to, brand, null, null, null, Instant.now());
+    }
+
+    private static DeviceKeyView key(String deviceId, DeviceStatus status, String brand) {
+        return new DeviceKeyView() {
+            public String getDeviceId() { return deviceId; }
+            public DeviceStatus getStatus() { return status; }
+            public String getBrand() { return brand; }
+        };
+    }
+}
@@ -0,0 +1,255 @@
+package service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.event.DeviceChange;
+import com.assetmanager.event.DeviceChangeEvent;
+import com.assetmanager.event.DeviceTransition;
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.repository.DeviceRepository;
+import com.assetmanager.repository.FleetCountView;
+import com.assetmanager.repository.GroupCountView;
+import com.assetmanager.repository.LaptopStatsView;
+import com.assetmanager.service.FleetCounters;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class FleetCountersTest {
+
+    @Mock
+    private DeviceRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FleetCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        // 3 available Dell laptops, 1 Dell in use by user 7 (16 GB each, Linux), 2 Apple phones in repair (iOS)
+        when(repository.countByStatusBrandAndOwner()).thenReturn(List.of(
+                group(DeviceStatus.AVAILABLE, "DELL", "Dell", null, 3),
+                group(DeviceStatus.IN_USE, "DELL", "Dell", 7, 1),
+                group(DeviceStatus.UNDER_REPAIR, "APPLE", "Apple", null, 2)));
+        when(repository.countByOperatingSystem()).thenReturn(List.of(os("Linux", 4), os("iOS", 2)));
+        when(repository.laptopStats()).thenReturn(laptops(4, 64));
+        when(repository.countPhones()).thenReturn(2L);
+
+        counters = new FleetCounters(repository, transactionManager, 0);
+        counters.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should answer status, brand and owner counts from the rebuilt state")
+    void testCountsAfterRebuild() {
+        assertEquals(6, counters.total());
+        assertEquals(3, counters.countByStatus(DeviceStatus.AVAILABLE));
+        assertEquals(0, counters.countByStatus(DeviceStatus.DECOMMISSIONED));
+        assertEquals(Map.of("Dell", 4L, "Apple", 2L), counters.byBrand());
+        assertEquals(1, counters.countByOwner(7));
+        assertEquals(0, counters.countByOwner(8));
+    }
+
+    @Test
+    @DisplayName("Should move counts between statuses and owners as transitions are committed")
+    void testTransitionsUpdateCounts() {
+        // ACT: register a new HP, rent a Dell to user 8, transfer the device of user 7 to user 8, repair an Apple
+        counters.onDeviceChange(DeviceChangeEvent.of(
+                change("H1", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, "hp", null, null)));
+        counters.onDeviceChange(new DeviceChangeEvent(List.of(
+                change("L1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, "Dell", null, 8),
+                change("L4", DeviceTransition.TRANSFER, DeviceStatus.IN_USE, DeviceStatus.IN_USE, "Dell", 7, 8),
+                change("M1", DeviceTransition.REPAIR, DeviceStatus.UNDER_REPAIR, DeviceStatus.AVAILABLE, "Apple", null, null))));
+
+        // ASSERT
+        assertEquals(7, counters.total());
+        assertEquals(4, counters.countByStatus(DeviceStatus.AVAILABLE)); // +1 registered, -1 rented, +1 repaired
+        assertEquals(2, counters.countByStatus(DeviceStatus.IN_USE));
+        assertEquals(1, counters.countByStatus(DeviceStatus.UNDER_REPAIR));
+        assertEquals(1, counters.byBrand().get("hp"));
+        assertEquals(0, counters.countByOwner(7));
+        assertEquals(2, counters.countByOwner(8));
+    }
+
+    @Test
+    @DisplayName("Should count the operating system, type and RAM of registered devices")
+    void testRegistrationsUpdateProfileCounts() {
+        // ACT: register a 32 GB Windows laptop and a phone without an operating system
+        counters.onDeviceChange(new DeviceChangeEvent(List.of(
+                registration("L5", "Dell", new DeviceChange.Profile(DeviceChange.Profile.LAPTOP, "Windows", 32)),
+                registration("M3", "Apple", new DeviceChange.Profile(DeviceChange.Profile.PHONE, null, null)))));
+
+        // ASSERT
+        assertEquals(Map.of("Linux", 4L, "iOS", 2L, "Windows", 1L, "UNSPECIFIED", 1L), counters.byOperatingSystem());
+        assertEquals(5, counters.countLaptops());
+        assertEquals(3, counters.countPhones());
+        assertEquals(19.2, counters.averageLaptopRamGb(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should count a device committed while a rebuild is waiting exactly once")
+    void testCommitDuringRebuildIsCountedOnce() throws Exception {
+        // ARRANGE: a registration has committed, its after-commit update is not applied yet
+        DeviceChangeEvent registration = DeviceChangeEvent.of(
+                change("H1", DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, "HP", null, null));
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch applyUpdate = new CountDownLatch(1);
+        Thread committer = new Thread(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                counters.fenceCommit(registration);
+                committed.countDown();
+                applyUpdate.await();
+                counters.onDeviceChange(registration);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        committer.start();
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+        // ACT: the rebuild's query already sees the committed row
+        when(repository.countByStatusBrandAndOwner()).thenReturn(List.of(
+                group(DeviceStatus.AVAILABLE, "DELL", "Dell", null, 3),
+                group(DeviceStatus.AVAILABLE, "HP", "HP", null, 1),
+                group(DeviceStatus.IN_USE, "DELL", "Dell", 7, 1),
+                group(DeviceStatus.UNDER_REPAIR, "APPLE", "Apple", null, 2)));
+        Thread rebuild = new Thread(counters::rebuild);
+        rebuild.start();
+        Thread.sleep(200);
+        verify(repository, times(1)).countByStatusBrandAndOwner(); // Still waiting for the commit to be applied
+        applyUpdate.countDown();
+        committer.join(5000);
+        rebuild.join(5000);
+
+        // ASSERT: counted by the query only, not also by the update applied before it
+        assertFalse(rebuild.isAlive());
+        assertEquals(7, counters.total());
+        assertEquals(4, counters.countByStatus(DeviceStatus.AVAILABLE));
+        assertEquals(1, counters.byBrand().get("HP"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild only when the status counts disagree with the database on two consecutive checks")
+    void testDriftCheckRebuildsOnPersistentMismatch() {
+        // The database lost a device behind the counters' back (e.g. a repository-level delete)
+        when(repository.countByStatusBrandAndOwner()).thenReturn(List.of(
+                group(DeviceStatus.AVAILABLE, "DELL", "Dell", null, 2),
+                group(DeviceStatus.IN_USE, "DELL", "Dell", 7, 1),
+                group(DeviceStatus.UNDER_REPAIR, "APPLE", "Apple", null, 2)));
+
+        counters.checkDrift();
+        assertEquals(6, counters.total()); // A single mismatch may be an update in flight
+
+        counters.checkDrift();
+        assertEquals(5, counters.total());
+        assertEquals(Map.of("Dell", 3L, "Apple", 2L), counters.byBrand());
+    }
+
+    @Test
+    @DisplayName("Should repair brand and owner counts even when the status counts match")
+    void testDriftCheckRepairsBrandAndOwnerCounts() {
+        // Edited in the SQL console: an available Dell is now an HP, the device of user 7 belongs to user 8
+        when(repository.countByStatusBrandAndOwner()).thenReturn(List.of(
+                group(DeviceStatus.AVAILABLE, "DELL", "Dell", null, 2),
+                group(DeviceStatus.AVAILABLE, "HP", "HP", null, 1),
+                group(DeviceStatus.IN_USE, "DELL", "Dell", 8, 1),
+                group(DeviceStatus.UNDER_REPAIR, "APPLE", "Apple", null, 2)));
+
+        counters.checkDrift();
+        counters.checkDrift();
+
+        assertEquals(6, counters.total());
+        assertEquals(Map.of("Dell", 3L, "Apple", 2L, "HP", 1L), counters.byBrand());
+        assertEquals(0, counters.countByOwner(7));
+        assertEquals(1, counters.countByOwner(8));
+    }
+
+    @Test
+    @DisplayName("Should repair operating system, type and RAM counts even when the other counts match")
+    void testDriftCheckRepairsProfileCounts() {
+        // Edited in the SQL console: two Linux laptops were upgraded to Windows with 32 GB
+        when(repository.countByOperatingSystem()).thenReturn(List.of(os("Linux", 2), os("Windows", 2), os("iOS", 2)));
+        when(repository.laptopStats()).thenReturn(laptops(4, 96));
+
+        counters.checkDrift();
+        assertEquals(16.0, counters.averageLaptopRamGb(), 0.001); // A single mismatch may be an update in flight
+
+        counters.checkDrift();
+        assertEquals(Map.of("Linux", 2L, "Windows", 2L, "iOS", 2L), counters.byOperatingSystem());
+        assertEquals(24.0, counters.averageLaptopRamGb(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should not rebuild while the counts match the database")
+    void testDriftCheckKeepsMatchingCounts() {
+        counters.onDeviceChange(DeviceChangeEvent.of(
+                change("L1", DeviceTransition.RENT, DeviceStatus.AVAILABLE, DeviceStatus.IN_USE, "Dell", null, 8)));
+        when(repository.countByStatusBrandAndOwner()).thenReturn(List.of(
+                group(DeviceStatus.AVAILABLE, "DELL", "Dell", null, 2),
+                group(DeviceStatus.IN_USE, "DELL", "Dell", 7, 1),
+                group(DeviceStatus.IN_USE, "DELL", "Dell", 8, 1),
+                group(DeviceStatus.UNDER_REPAIR, "APPLE", "Apple", null, 2)));
+
+        counters.checkDrift();
+        counters.checkDrift();
+
+        verify(repository, times(3)).countByStatusBrandAndOwner(); // The initial build and the two checks
+    }
+
+    private static DeviceChange change(String deviceId, DeviceTransition transition, DeviceStatus from, DeviceStatus to,
+                                       String brand, Integer previousOwnerId, Integer ownerId) {
+        return new DeviceChange(deviceId, transition, from, to, brand, previousOwnerId, ownerId, null, Instant.now());
+    }
+
+    private static DeviceChange registration(String deviceId, String brand, DeviceChange.Profile profile) {
+        return new DeviceChange(deviceId, DeviceTransition.REGISTER, null, DeviceStatus.AVAILABLE, brand, null, null,
+                null, Instant.now(), profile);
+    }
+
+    private static FleetCountView group(DeviceStatus status, String brandKey, String brand, Integer ownerId, long count) {
+        return new FleetCountView() {
+            public DeviceStatus getStatus() { return status; }
+            public String getBrandKey() { return brandKey; }
+            public String getBrand() { return brand; }
+            public Integer getOwnerId() { return ownerId; }
+            public long getCount() { return count; }
+        };
+    }
+
+    private static GroupCountView os(String operatingSystem, long count) {
+        return new GroupCountView() {
+            public String getValue() { return operatingSystem; }
+            public long getCount() { return count; }
+        };
+    }
+
+    private static LaptopStatsView laptops(long count, long totalRamGb) {
+        return new LaptopStatsView() {
+            public long getCount() { return count; }
+            public long getTotalRamGb() { return totalRamGb; }
+        };
+    }
+}
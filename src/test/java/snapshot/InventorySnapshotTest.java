@@ -0,0 +1,92 @@
+package snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assetmanager.model.DeviceStatus;
+import com.assetmanager.snapshot.InventorySnapshot;
+import com.assetmanager.snapshot.InventorySnapshot.DeviceEntry;
+import com.assetmanager.snapshot.InventorySnapshot.Kind;
+import com.assetmanager.snapshot.InventorySnapshot.UserEntry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class InventorySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Every column survives a write/read round trip, including nulls and subtype columns")
+    void roundTripPreservesAllAttributes() throws IOException {
+        List<UserEntry> users = List.of(
+            new UserEntry(7, "Ana Gomez", "EMP-7"),
+            new UserEntry(-3, "Ünïcode Üser", null));
+        List<DeviceEntry> devices = List.of(
+            new DeviceEntry("LT-0002", Kind.LAPTOP, "Dell", "Latitude", "Windows 11", DeviceStatus.IN_USE,
+                null, null, 3L, 7, 16, null),
+            new DeviceEntry("LT-0001", Kind.LAPTOP, "Dell", "Latitude", null, DeviceStatus.UNDER_REPAIR,
+                "Broken hinge", null, 0L, null, 32, null),
+            new DeviceEntry("PH-01", Kind.PHONE, "Apple", "iPhone 15", "iOS", DeviceStatus.DECOMMISSIONED,
+                null, LocalDate.of(2024, 2, 29), null, -3, 0, "555-0100"));
+
+        Path file = directory.resolve("inventory.snap");
+        new InventorySnapshot(users, devices).write(file);
+        InventorySnapshot restored = InventorySnapshot.read(file);
+
+        assertEquals(users, restored.getUsers());
+        // Devices come back sorted by ID
+        List<DeviceEntry> expected = new ArrayList<>(devices);
+        expected.sort((a, b) -> a.deviceId().compareTo(b.deviceId()));
+        assertEquals(expected, restored.getDevices());
+    }
+
+    @Test
+    @DisplayName("Repeated brands and models are stored once, so the file is far smaller than the raw values")
+    void dictionaryEncodingKeepsTheFileCompact() throws IOException {
+        List<DeviceEntry> devices = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            devices.add(new DeviceEntry(String.format("LAPTOP-%06d", i), Kind.LAPTOP, "Lenovo", "ThinkPad X1 Carbon Gen 11",
+                "Windows 11 Enterprise", DeviceStatus.AVAILABLE, null, null, 0L, null, 16, null));
+        }
+        Path file = directory.resolve("fleet.snap");
+        long size = new InventorySnapshot(List.of(), devices).write(file);
+
+        // Raw brand + model + OS alone would be ~52 bytes per device
+        assertTrue(size < 10_000 * 12, "Snapshot is " + size + " bytes");
+        assertEquals(10_000, InventorySnapshot.read(file).getDevices().size());
+    }
+
+    @Test
+    @DisplayName("A corrupted snapshot is rejected instead of being restored")
+    void corruptedSnapshotIsRejected() throws IOException {
+        Path file = directory.resolve("inventory.snap");
+        new InventorySnapshot(List.of(new UserEntry(1, "User", "EMP-1")), List.of(
+            new DeviceEntry("LT-1", Kind.LAPTOP, "HP", "EliteBook", "Linux", DeviceStatus.AVAILABLE,
+                null, null, 0L, 1, 8, null))).write(file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> InventorySnapshot.read(file));
+    }
+
+    @Test
+    @DisplayName("Devices owned by a user missing from the snapshot cannot be written")
+    void unknownOwnerIsRejected() {
+        InventorySnapshot snapshot = new InventorySnapshot(List.of(), List.of(
+            new DeviceEntry("LT-1", Kind.LAPTOP, "HP", "EliteBook", "Linux", DeviceStatus.IN_USE,
+                null, null, 0L, 42, 8, null)));
+
+        assertThrows(IllegalStateException.class, () -> snapshot.write(directory.resolve("inventory.snap")));
+    }
+}
@@ -0,0 +1,119 @@
+package sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.sync.ChangeSequence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeSequenceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ChangeSequence sequence;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(41L);
+        sequence = new ChangeSequence(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        unbindResources();
+    }
+
+    @Test
+    @DisplayName("Should continue after the highest stored number, reading it only once")
+    void shouldContinueFromTheStoredMaximum() {
+        assertEquals(42, sequence.next());
+        assertEquals(43, sequence.allocate(3));
+        assertEquals(46, sequence.next());
+        assertEquals(46, sequence.current());
+        // Outside a transaction a number counts as committed right away
+        assertEquals(46, sequence.watermark());
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Should hold the watermark below numbers whose transaction is still open")
+    void shouldHoldTheWatermarkBelowOpenTransactions() {
+        // Transaction A takes 42 and stays open while B takes 43..45 and commits
+        Transaction transactionA = inTransaction(() -> sequence.next());
+        Transaction transactionB = inTransaction(() -> sequence.allocate(3));
+        assertEquals(41, sequence.watermark());
+
+        complete(transactionB);
+        assertEquals(41, sequence.watermark(), "43..45 committed, but 42 may still commit after them");
+
+        complete(transactionA);
+        assertEquals(45, sequence.watermark());
+        assertEquals(45, sequence.current());
+    }
+
+    @Test
+    @DisplayName("Should track a transaction once, however many numbers it takes")
+    void shouldTrackEachTransactionOnce() {
+        // One transaction stamps 1000 rows one by one
+        Transaction batch = inTransaction(() -> {
+            for (int i = 0; i < 1000; i++) {
+                sequence.next();
+            }
+        });
+        assertEquals(1, batch.synchronizations().size());
+        assertEquals(41, sequence.watermark());
+        assertEquals(1041, sequence.current());
+
+        complete(batch);
+        assertEquals(1041, sequence.watermark());
+    }
+
+    // An open transaction, suspended like Spring does: its synchronizations and bound resources are set aside
+    private record Transaction(List<TransactionSynchronization> synchronizations, Map<Object, Object> resources) {}
+
+    private static Transaction inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return new Transaction(TransactionSynchronizationManager.getSynchronizations(),
+                    new HashMap<>(TransactionSynchronizationManager.getResourceMap()));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            unbindResources();
+        }
+    }
+
+    private static void complete(Transaction transaction) {
+        transaction.resources().forEach(TransactionSynchronizationManager::bindResource);
+        transaction.synchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void unbindResources() {
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResourceIfPossible);
+    }
+}